@@ -0,0 +1,53 @@
+package de.stefanet.javachesskit.benchmark;
+
+import de.stefanet.javachesskit.core.Piece;
+import de.stefanet.javachesskit.core.Square;
+import de.stefanet.javachesskit.move.Move;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the allocations per operation.
+ *
+ * <p>The interesting metric is {@code gc.alloc.rate.norm} of the GC profiler,
+ * the number of bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+
+    @Benchmark
+    public Set<Move> generateLegalMoves(PositionState state) {
+        return state.board.generateLegalMoves();
+    }
+
+    @Benchmark
+    public String boardToString(PositionState state) {
+        return state.board.toString();
+    }
+
+    /**
+     * Looks up the piece on every square of the board.
+     *
+     * @param state     The position.
+     * @param blackhole The blackhole for the pieces.
+     */
+    @Benchmark
+    public void pieceAt(PositionState state, Blackhole blackhole) {
+        for (int i = 0; i < 64; i++) {
+            Piece piece = state.board.pieceAt(Square.fromIndex(i));
+            blackhole.consume(piece);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package de.stefanet.javachesskit.benchmark;
+
+import de.stefanet.javachesskit.Outcome;
+import de.stefanet.javachesskit.Status;
+import de.stefanet.javachesskit.polyglot.ZobristHasher;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of hashing and game state detection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+    private final ZobristHasher hasher = new ZobristHasher();
+
+    @Benchmark
+    public long zobristHash(PositionState state) {
+        return hasher.hash(state.board);
+    }
+
+    @Benchmark
+    public boolean isRepetition(PositionState state) {
+        return state.history.isRepetition();
+    }
+
+    @Benchmark
+    public Outcome outcome(PositionState state) {
+        return state.history.outcome(true);
+    }
+
+    @Benchmark
+    public EnumSet<Status> status(PositionState state) {
+        return state.history.status();
+    }
+}
@@ -0,0 +1,56 @@
+package de.stefanet.javachesskit.benchmark;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of making and unmaking moves.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MakeMoveBenchmark {
+
+    /**
+     * Pushes and pops every legal move of the position.
+     *
+     * @param state     The position.
+     * @param blackhole The blackhole for the popped moves.
+     */
+    @Benchmark
+    public void pushPopAllMoves(PositionState state, Blackhole blackhole) {
+        Board board = state.board;
+        for (Move move : state.moves) {
+            board.push(move);
+            blackhole.consume(board.pop());
+        }
+    }
+
+    /**
+     * Pushes and pops every legal move of the position as packed move.
+     *
+     * @param state     The position.
+     * @param blackhole The blackhole for the popped moves.
+     */
+    @Benchmark
+    public void pushPopAllPackedMoves(PositionState state, Blackhole blackhole) {
+        Board board = state.board;
+        state.moveList.clear();
+        board.generateLegalMoves(state.moveList);
+        for (int i = 0; i < state.moveList.size(); i++) {
+            board.push(state.moveList.get(i));
+            blackhole.consume(board.pop());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package de.stefanet.javachesskit.benchmark;
+
+import de.stefanet.javachesskit.move.Move;
+import de.stefanet.javachesskit.move.MoveList;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the legal move generation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+    @Benchmark
+    public Set<Move> generateLegalMoves(PositionState state) {
+        return state.board.generateLegalMoves();
+    }
+
+    @Benchmark
+    public int generateLegalMovesIntoMoveList(PositionState state) {
+        MoveList moves = state.moveList;
+        moves.clear();
+        state.board.generateLegalMoves(moves);
+        return moves.size();
+    }
+
+    @Benchmark
+    public Set<Move> generateLegalCaptures(PositionState state) {
+        return state.board.generateLegalCaptures();
+    }
+
+    @Benchmark
+    public int generateLegalCapturesAndPromotions(PositionState state) {
+        MoveList moves = state.moveList;
+        moves.clear();
+        state.board.generateLegalCapturesAndPromotions(moves);
+        return moves.size();
+    }
+
+    @Benchmark
+    public int generateLegalQuietChecks(PositionState state) {
+        MoveList moves = state.moveList;
+        moves.clear();
+        state.board.generateLegalQuietChecks(moves);
+        return moves.size();
+    }
+}
@@ -0,0 +1,62 @@
+package de.stefanet.javachesskit.benchmark;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of SAN and FEN parsing and formatting.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotationBenchmark {
+
+    /**
+     * Parses the SAN of every legal move of the position.
+     *
+     * @param state     The position.
+     * @param blackhole The blackhole for the parsed moves.
+     */
+    @Benchmark
+    public void parseSan(PositionState state, Blackhole blackhole) {
+        for (String san : state.sans) {
+            blackhole.consume(state.board.parseSan(san));
+        }
+    }
+
+    /**
+     * Formats every legal move of the position as SAN.
+     *
+     * @param state     The position.
+     * @param blackhole The blackhole for the SAN strings.
+     */
+    @Benchmark
+    public void san(PositionState state, Blackhole blackhole) {
+        for (Move move : state.moves) {
+            blackhole.consume(state.board.san(move));
+        }
+    }
+
+    @Benchmark
+    public String getFen(PositionState state) {
+        return state.board.getFen();
+    }
+
+    @Benchmark
+    public Board setFen(PositionState state) {
+        Board board = state.board;
+        board.setFen(state.fen);
+        return board;
+    }
+}
@@ -0,0 +1,75 @@
+package de.stefanet.javachesskit.benchmark;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import de.stefanet.javachesskit.move.MoveList;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state with a position of the corpus and its legal moves.
+ */
+@State(Scope.Thread)
+public class PositionState {
+
+    /**
+     * The corpus of positions, one for each phase of the game.
+     */
+    public enum Phase {
+        OPENING("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"),
+        MIDDLEGAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"),
+        TACTICAL("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+        ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+
+        private final String fen;
+
+        Phase(String fen) {
+            this.fen = fen;
+        }
+
+        public String getFen() {
+            return fen;
+        }
+    }
+
+    @Param
+    public Phase phase;
+
+    public String fen;
+    public Board board;
+    public MoveList moveList;
+    public List<Move> moves;
+    public List<String> sans;
+    public Board history;
+
+    /**
+     * Sets up the board, the legal moves with their SAN and a board with a short game history.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        fen = phase.getFen();
+        board = new Board(fen);
+        moveList = new MoveList();
+        moves = new ArrayList<>(board.generateLegalMoves());
+        sans = new ArrayList<>();
+        for (Move move : moves) {
+            sans.add(board.san(move));
+        }
+
+        history = new Board(fen);
+        MoveList buffer = new MoveList();
+        for (int ply = 0; ply < 16; ply++) {
+            buffer.clear();
+            history.generateLegalMoves(buffer);
+            if (buffer.isEmpty()) {
+                break;
+            }
+            history.push(buffer.get(ply % buffer.size()));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks of the hot paths of the library.
+ */
+package de.stefanet.javachesskit.benchmark;
@@ -9,11 +9,14 @@ import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.*;
 
 import de.stefanet.javachesskit.bitboard.Bitboard;
 import de.stefanet.javachesskit.bitboard.BitboardUtils;
+import de.stefanet.javachesskit.bitboard.SliderAttacks;
 import de.stefanet.javachesskit.core.Color;
 import de.stefanet.javachesskit.core.Piece;
 import de.stefanet.javachesskit.core.PieceType;
 import de.stefanet.javachesskit.core.Square;
 import de.stefanet.javachesskit.core.SquareSet;
+import de.stefanet.javachesskit.polyglot.Polyglot;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -30,6 +33,9 @@ import java.util.function.Function;
  */
 public class BaseBoard {
     private static final String STARTING_BOARD_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR";
+    private static final PieceType[] MAILBOX_TYPES = {
+            null, PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN, PieceType.KING
+    };
     protected long pawns;
     protected long knights;
     protected long bishops;
@@ -41,6 +47,17 @@ public class BaseBoard {
     protected long[] occupiedColor = new long[2];
     protected long occupied;
 
+    /**
+     * The Polyglot Zobrist key of the piece placement, updated with every piece that is set or removed.
+     */
+    protected long pieceKey;
+
+    /**
+     * The piece type on each square, 0 for an empty square or the ordinal of the piece type plus 1.
+     * It is kept in sync with the bitboards, so the piece type of a square is found with a single lookup.
+     */
+    protected byte[] mailbox = new byte[64];
+
     /**
      * Create a new board with the standard starting position.
      */
@@ -85,6 +102,8 @@ public class BaseBoard {
 
         this.occupiedColor = new long[2];
         this.occupied = 0;
+        this.pieceKey = 0;
+        Arrays.fill(this.mailbox, (byte) 0);
     }
 
     /**
@@ -103,6 +122,8 @@ public class BaseBoard {
         this.occupiedColor[Color.WHITE.ordinal()] = RANK_1 | RANK_2;
         this.occupiedColor[Color.BLACK.ordinal()] = RANK_7 | RANK_8;
         this.occupied = RANK_1 | RANK_2 | RANK_7 | RANK_8;
+        updateMailbox();
+        this.pieceKey = computePieceKey();
     }
 
     /**
@@ -159,6 +180,8 @@ public class BaseBoard {
         board.occupiedColor[Color.BLACK.ordinal()] = this.occupiedColor[Color.BLACK.ordinal()];
         board.occupied = this.occupied;
         board.promoted = this.promoted;
+        board.pieceKey = this.pieceKey;
+        System.arraycopy(this.mailbox, 0, board.mailbox, 0, 64);
 
         return board;
     }
@@ -186,22 +209,7 @@ public class BaseBoard {
      * @return The piece type at the given square. If there is no piece at the square, it returns null.
      */
     public PieceType pieceTypeAt(Square square) {
-        long mask = SQUARES[square.ordinal()];
-        if ((this.occupied & mask) == 0) {
-            return null;
-        } else if ((this.pawns & mask) != 0) {
-            return PieceType.PAWN;
-        } else if ((this.knights & mask) != 0) {
-            return PieceType.KNIGHT;
-        } else if ((this.bishops & mask) != 0) {
-            return PieceType.BISHOP;
-        } else if ((this.rooks & mask) != 0) {
-            return PieceType.ROOK;
-        } else if ((this.queens & mask) != 0) {
-            return PieceType.QUEEN;
-        } else {
-            return PieceType.KING;
-        }
+        return MAILBOX_TYPES[this.mailbox[square.ordinal()]];
     }
 
     /**
@@ -259,12 +267,54 @@ public class BaseBoard {
 
         this.occupied ^= mask;
         this.occupiedColor[color.ordinal()] ^= mask;
+        this.pieceKey ^= pieceSquareKey(type, color == Color.WHITE, square.ordinal());
+        this.mailbox[square.ordinal()] = (byte) (type.ordinal() + 1);
 
         if (promoted) {
             this.promoted ^= mask;
         }
     }
 
+    /**
+     * Adds the piece to the given empty square or removes it from the square.
+     *
+     * <p>Unlike {@link #setPiece(Square, PieceType, Color)} this neither looks up nor clears the piece
+     * on the square, so the caller must know what stands there. The promotion status is not changed.
+     *
+     * @param type   The piece type
+     * @param white  True for a white piece, false for a black piece
+     * @param square The index of the square
+     */
+    protected void togglePiece(PieceType type, boolean white, int square) {
+        long mask = SQUARES[square];
+
+        switch (type) {
+            case PAWN:
+                this.pawns ^= mask;
+                break;
+            case KNIGHT:
+                this.knights ^= mask;
+                break;
+            case BISHOP:
+                this.bishops ^= mask;
+                break;
+            case ROOK:
+                this.rooks ^= mask;
+                break;
+            case QUEEN:
+                this.queens ^= mask;
+                break;
+            default:
+                this.kings ^= mask;
+                break;
+        }
+
+        this.occupied ^= mask;
+        this.occupiedColor[white ? Color.WHITE.ordinal() : Color.BLACK.ordinal()] ^= mask;
+        this.pieceKey ^= pieceSquareKey(type, white, square);
+        this.mailbox[square] ^= (byte) (type.ordinal() + 1);
+    }
+
     /**
      * Removes the piece at the given square.
      *
@@ -291,6 +341,7 @@ public class BaseBoard {
     protected PieceType removePieceType(Square square) {
         long mask = SQUARES[square.ordinal()];
         PieceType type = pieceTypeAt(square);
+        boolean white = (this.occupiedColor[Color.WHITE.ordinal()] & mask) != 0;
 
         if (type == PieceType.PAWN) {
             this.pawns ^= mask;
@@ -312,6 +363,8 @@ public class BaseBoard {
         this.occupiedColor[Color.WHITE.ordinal()] &= ~mask;
         this.occupiedColor[Color.BLACK.ordinal()] &= ~mask;
         this.promoted &= ~mask;
+        this.pieceKey ^= pieceSquareKey(type, white, square.ordinal());
+        this.mailbox[square.ordinal()] = 0;
 
         return type;
     }
@@ -393,15 +446,10 @@ public class BaseBoard {
     private long longRangeAttacks(Square square, long mask) {
         long attacks = 0;
         if ((mask & this.bishops) != 0 || (mask & this.queens) != 0) {
-            Map<Long, Long> attackMap = DIAGONAL_ATTACKS.get(square.ordinal());
-            attacks = attackMap.get(DIAGONAL_MASKS[square.ordinal()] & this.occupied);
+            attacks = SliderAttacks.bishopAttacks(square.ordinal(), this.occupied);
         }
         if ((mask & this.rooks) != 0 || (mask & this.queens) != 0) {
-            Map<Long, Long> rankAttackMap = RANK_ATTACKS.get(square.ordinal());
-            Map<Long, Long> fileAttackMap = FILE_ATTACKS.get(square.ordinal());
-
-            attacks |= rankAttackMap.get(RANK_MASKS[square.ordinal()] & this.occupied) |
-                       fileAttackMap.get(FILE_MASKS[square.ordinal()] & this.occupied);
+            attacks |= SliderAttacks.rookAttacks(square.ordinal(), this.occupied);
         }
         return attacks;
     }
@@ -426,18 +474,13 @@ public class BaseBoard {
      * @return A bitboard with all attackers from the given color that are attacking the given square.
      */
     protected long attackersMask(Color color, Square square, long occupied) {
-        long rankPieces = RANK_MASKS[square.ordinal()] & occupied;
-        long filePieces = FILE_MASKS[square.ordinal()] & occupied;
-        long diagPieces = DIAGONAL_MASKS[square.ordinal()] & occupied;
-
         long queensAndRooks = this.queens | this.rooks;
         long queensAndBishops = this.queens | this.bishops;
 
         long attackers = (KING_ATTACKS[square.ordinal()] & this.kings) |
                          KNIGHT_ATTACKS[square.ordinal()] & this.knights |
-                         RANK_ATTACKS.get(square.ordinal()).get(rankPieces) & queensAndRooks |
-                         FILE_ATTACKS.get(square.ordinal()).get(filePieces) & queensAndRooks |
-                         DIAGONAL_ATTACKS.get(square.ordinal()).get(diagPieces) & queensAndBishops |
+                         SliderAttacks.rookAttacks(square.ordinal(), occupied) & queensAndRooks |
+                         SliderAttacks.bishopAttacks(square.ordinal(), occupied) & queensAndBishops |
                          PAWN_ATTACKS[color.other().ordinal()][square.ordinal()] & this.pawns;
         return attackers & this.occupiedColor[color.ordinal()];
     }
@@ -565,7 +608,7 @@ public class BaseBoard {
             if (c >= '1' && c <= '8') {
                 index += Character.getNumericValue(c);
             } else if ("pnbrkqPNBRKQ".indexOf(c) != -1) {
-                Piece piece = new Piece(c);
+                Piece piece = Piece.fromSymbol(c);
                 setPiece(Square.fromIndex(index), piece.getType(), piece.getColor());
                 index++;
             } else {
@@ -584,7 +627,8 @@ public class BaseBoard {
     public Map<Square, Piece> getPieceMap(long mask) {
         Map<Square, Piece> result = new HashMap<>();
 
-        for (int index : BitboardUtils.scanReversed(mask)) {
+        for (long squares = mask; squares != 0; squares = BitboardUtils.clearLsb(squares)) {
+            int index = BitboardUtils.lsb(squares);
             Square square = Square.fromIndex(index);
             result.put(square, pieceAt(square));
         }
@@ -808,5 +852,47 @@ public class BaseBoard {
         this.occupiedColor[Color.BLACK.ordinal()] = transform.apply(this.occupiedColor[Color.BLACK.ordinal()]);
         this.occupied = transform.apply(this.occupied);
         this.promoted = transform.apply(this.promoted);
+        updateMailbox();
+        this.pieceKey = computePieceKey();
+    }
+
+    /**
+     * Rebuilds the mailbox from the bitboards.
+     */
+    protected void updateMailbox() {
+        Arrays.fill(this.mailbox, (byte) 0);
+        long[] bitboards = {this.pawns, this.knights, this.bishops, this.rooks, this.queens, this.kings};
+        for (int type = 0; type < bitboards.length; type++) {
+            for (long squares = bitboards[type]; squares != 0; squares = BitboardUtils.clearLsb(squares)) {
+                this.mailbox[BitboardUtils.lsb(squares)] = (byte) (type + 1);
+            }
+        }
+    }
+
+    /**
+     * Computes the Polyglot Zobrist key of the piece placement from scratch.
+     *
+     * @return The Zobrist key of the piece placement.
+     */
+    protected long computePieceKey() {
+        long key = 0;
+        long white = this.occupiedColor[Color.WHITE.ordinal()];
+        for (long squares = this.occupied; squares != 0; squares = BitboardUtils.clearLsb(squares)) {
+            int index = BitboardUtils.lsb(squares);
+            key ^= pieceSquareKey(pieceTypeAt(Square.fromIndex(index)), (white & SQUARES[index]) != 0, index);
+        }
+        return key;
+    }
+
+    /**
+     * Gets the Polyglot Zobrist key of a piece on a square.
+     *
+     * @param type   The piece type.
+     * @param white  True for a white piece, false for a black piece.
+     * @param square The index of the square.
+     * @return The Zobrist key of the piece on the square.
+     */
+    private static long pieceSquareKey(PieceType type, boolean white, int square) {
+        return Polyglot.POLYGLOT_RANDOM_ARRAY[64 * (type.ordinal() * 2 + (white ? 1 : 0)) + square];
     }
 }
@@ -18,6 +18,7 @@ import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.H8;
 
 import de.stefanet.javachesskit.bitboard.Bitboard;
 import de.stefanet.javachesskit.bitboard.BitboardUtils;
+import de.stefanet.javachesskit.bitboard.SliderAttacks;
 import de.stefanet.javachesskit.core.Color;
 import de.stefanet.javachesskit.core.PieceType;
 import de.stefanet.javachesskit.core.Square;
@@ -25,7 +26,10 @@ import de.stefanet.javachesskit.move.AmbiguousMoveException;
 import de.stefanet.javachesskit.move.IllegalMoveException;
 import de.stefanet.javachesskit.move.LegalMoveGenerator;
 import de.stefanet.javachesskit.move.Move;
+import de.stefanet.javachesskit.move.MoveList;
+import de.stefanet.javachesskit.move.PackedMove;
 import de.stefanet.javachesskit.move.PseudoLegalMoveGenerator;
+import de.stefanet.javachesskit.polyglot.Polyglot;
 import java.util.*;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -40,6 +44,11 @@ import java.util.regex.Pattern;
  */
 public class Board extends BaseBoard {
     protected static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    private static final byte LEGAL_MOVE_UNKNOWN = 0;
+    private static final byte LEGAL_MOVE_FOUND = 1;
+    private static final byte LEGAL_MOVE_NONE = 2;
+    private static final int[] SEE_VALUES = {0, 100, 300, 300, 500, 900, 0};
+
     protected Color turn;
     protected long castlingRights;
 
@@ -50,7 +59,16 @@ public class Board extends BaseBoard {
 
     protected long promoted;
     protected final Deque<Move> moveStack;
-    protected final Deque<BoardState> stateStack;
+    private final UndoStack undoStack;
+
+    private final MoveList legalMoveBuffer = new MoveList();
+    // the gains of a SEE capture sequence, one per capture, at most one capture per piece
+    private final int[] seeGain = new int[32];
+    // the legal En Passant moves of hasLegalEnPassant, at most two
+    private final MoveList enPassantBuffer = new MoveList(2);
+    private long legalMoveCacheKey;
+    private long legalMoveCacheOccupied;
+    private byte legalMoveCache = LEGAL_MOVE_UNKNOWN;
 
     /**
      * Create a new board with the starting position.
@@ -69,7 +87,7 @@ public class Board extends BaseBoard {
 
         this.epSquare = null;
         this.moveStack = new ArrayDeque<>();
-        this.stateStack = new ArrayDeque<>();
+        this.undoStack = new UndoStack();
 
         if (fen == null) {
             clear();
@@ -108,6 +126,8 @@ public class Board extends BaseBoard {
 
         board.occupied = this.occupied;
         board.promoted = this.promoted;
+        board.pieceKey = this.pieceKey;
+        System.arraycopy(this.mailbox, 0, board.mailbox, 0, 64);
 
         board.epSquare = this.epSquare;
         board.castlingRights = this.castlingRights;
@@ -238,7 +258,7 @@ public class Board extends BaseBoard {
      */
     protected void clearStack() {
         this.moveStack.clear();
-        this.stateStack.clear();
+        this.undoStack.clear();
     }
 
     /**
@@ -280,33 +300,9 @@ public class Board extends BaseBoard {
      * @return A set of legal moves.
      */
     public Set<Move> generateLegalMoves(long fromMask, long toMask) {
-        Set<Move> legalMoves = new HashSet<>();
-
-        long kingMask = this.kings & occupiedColor[this.turn.ordinal()];
-
-        if (kingMask != 0) {
-            int king = BitboardUtils.msb(kingMask);
-            long blockers = sliderBlockers(king);
-            long checkers = attackersMask(turn.other(), Square.fromIndex(king));
-
-            if (checkers != 0) {
-                for (Move move : generateEvasions(king, checkers, fromMask, toMask)) {
-                    if (isSafe(Square.fromIndex(king), blockers, move)) {
-                        legalMoves.add(move);
-                    }
-                }
-            } else {
-                for (Move move : generatePseudoLegalMoves(fromMask, toMask)) {
-                    if (isSafe(Square.fromIndex(king), blockers, move)) {
-                        legalMoves.add(move);
-                    }
-                }
-            }
-        } else {
-            legalMoves.addAll(generatePseudoLegalMoves(fromMask, toMask));
-        }
-
-        return legalMoves;
+        MoveList moves = new MoveList();
+        generateLegalMoves(moves, fromMask, toMask);
+        return moves.toMoveSet();
     }
 
     /**
@@ -318,6 +314,105 @@ public class Board extends BaseBoard {
         return generateLegalMoves(ALL, ALL);
     }
 
+    /**
+     * Appends all legal moves in the current position to the given move list.
+     *
+     * @param out The move list to append the packed moves to.
+     */
+    public void generateLegalMoves(MoveList out) {
+        generateLegalMoves(out, ALL, ALL);
+    }
+
+    /**
+     * Appends the legal moves with the given bitboard masks to the given move list.
+     *
+     * <p>The checkers, the squares that block or capture a check and the pinned pieces are computed once,
+     * so only legal moves are generated. Only En Passant moves are tested one by one.
+     * The moves are appended in a deterministic order and carry the flags of {@link #packMove(Move)}.
+     *
+     * @param out      The move list to append the packed moves to.
+     * @param fromMask The mask of the source squares.
+     * @param toMask   The mask of the target squares.
+     */
+    public void generateLegalMoves(MoveList out, long fromMask, long toMask) {
+        generateLegalMoves(out, fromMask, toMask, toMask, toMask);
+    }
+
+    /**
+     * Appends the legal moves with separate target masks for pieces, pawns and special moves.
+     *
+     * @param out         The move list to append the packed moves to.
+     * @param fromMask    The mask of the source squares.
+     * @param pieceMask   The mask of the target squares of pieces and the king.
+     * @param pawnMask    The mask of the target squares of pawn captures and pawn advances.
+     * @param specialMask The mask of the En Passant square and of the rook squares for castling.
+     */
+    private void generateLegalMoves(MoveList out, long fromMask, long pieceMask, long pawnMask, long specialMask) {
+        long ownPieces = this.occupiedColor[this.turn.ordinal()];
+        long kingMask = this.kings & ownPieces;
+
+        if (kingMask == 0) {
+            generatePieceMoves(out, fromMask, pieceMask, 0, EMPTY);
+            generatePawnMoves(out, fromMask, pawnMask, 0, EMPTY);
+            generatePseudoLegalEnPassant(out, fromMask, specialMask);
+            return;
+        }
+
+        int king = BitboardUtils.msb(kingMask);
+        long kingBit = SQUARES[king];
+        long checkers = attackersMask(turn.other(), Square.fromIndex(king));
+
+        // king moves, sliding attackers see through the king
+        if ((fromMask & kingBit) != 0) {
+            long targets = KING_ATTACKS[king] & ~ownPieces & pieceMask;
+            if (targets != 0) {
+                targets &= ~attackedSquares(turn.other(), this.occupied ^ kingBit);
+            }
+            long otherPieces = this.occupiedColor[turn.other().ordinal()];
+            for (; targets != 0; targets = BitboardUtils.clearLsb(targets)) {
+                int target = BitboardUtils.lsb(targets);
+                int flags = (SQUARES[target] & otherPieces) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET;
+                out.add(PackedMove.of(king, target, flags));
+            }
+        }
+
+        // in double check only the king can move
+        if (checkers != 0 && BitboardUtils.clearLsb(checkers) != 0) {
+            return;
+        }
+
+        // the other pieces must capture or block a single checker
+        long checkMask = checkers == 0 ? ALL : BitboardUtils.between(king, BitboardUtils.lsb(checkers)) | checkers;
+        long pinned = sliderBlockers(king);
+
+        generatePieceMoves(out, fromMask & ~kingBit, pieceMask & checkMask, king, pinned);
+        if (checkers == 0) {
+            generateCastlingMoves(out, fromMask, specialMask);
+        }
+        generatePawnMoves(out, fromMask, pawnMask & checkMask, king, pinned);
+
+        if (this.epSquare != null) {
+            int start = out.size();
+            generatePseudoLegalEnPassant(out, fromMask, specialMask);
+
+            long captured = SQUARES[this.epSquare.ordinal() - 8 * turn.forwardDirection()];
+            long epCheckMask = (checkMask & (SQUARES[this.epSquare.ordinal()] | captured)) != 0 ? ALL : 0;
+
+            int size = start;
+            for (int i = start; i < out.size(); i++) {
+                int move = out.get(i);
+                int source = PackedMove.getSource(move);
+                if (epCheckMask != 0 &&
+                    ((pinned & SQUARES[source]) == 0 ||
+                     (BitboardUtils.ray(king, source) & SQUARES[this.epSquare.ordinal()]) != 0) &&
+                    !epSkewered(Square.fromIndex(king), Square.fromIndex(source))) {
+                    out.set(size++, move);
+                }
+            }
+            out.truncate(size);
+        }
+    }
+
     /**
      * Returns a set of all pseudo-legal moves in the current position.
      *
@@ -335,54 +430,122 @@ public class Board extends BaseBoard {
      * @return A set of pseudo-legal moves.
      */
     public Set<Move> generatePseudoLegalMoves(long sourceMask, long targetMask) {
-        Set<Move> moveList = new HashSet<>();
+        MoveList moves = new MoveList();
+        generatePseudoLegalMoves(moves, sourceMask, targetMask);
+        return moves.toMoveSet();
+    }
+
+    /**
+     * Appends all pseudo-legal moves in the current position to the given move list.
+     *
+     * @param out The move list to append the packed moves to.
+     */
+    public void generatePseudoLegalMoves(MoveList out) {
+        generatePseudoLegalMoves(out, ALL, ALL);
+    }
+
+    /**
+     * Appends the pseudo-legal moves with the given bitboard masks to the given move list.
+     *
+     * <p>The moves are appended in a deterministic order and carry the flags of {@link #packMove(Move)}.
+     *
+     * @param out        The move list to append the packed moves to.
+     * @param sourceMask The mask of the source squares.
+     * @param targetMask The mask of the target squares.
+     */
+    public void generatePseudoLegalMoves(MoveList out, long sourceMask, long targetMask) {
+        generatePieceMoves(out, sourceMask, targetMask, 0, EMPTY);
+
+        // castling moves
+        if ((sourceMask & this.kings) != 0) {
+            generateCastlingMoves(out, sourceMask, targetMask);
+        }
+
+        generatePawnMoves(out, sourceMask, targetMask, 0, EMPTY);
+
+        if (epSquare != null) {
+            generatePseudoLegalEnPassant(out, sourceMask, targetMask);
+        }
+    }
+
+    /**
+     * Appends the moves of all pieces except pawns and castling to the given move list.
+     *
+     * <p>A pinned piece only moves along the line through the king and the piece.
+     *
+     * @param out        The move list to append the packed moves to.
+     * @param sourceMask The mask of the source squares.
+     * @param targetMask The mask of the target squares.
+     * @param king       The index of the king square, only used for pinned pieces.
+     * @param pinned     The mask of the pinned pieces, {@link Bitboard#EMPTY} for pseudo-legal moves.
+     */
+    private void generatePieceMoves(MoveList out, long sourceMask, long targetMask, int king, long pinned) {
         long ownPieces = this.occupiedColor[this.turn.ordinal()];
+        long otherPieces = this.occupiedColor[this.turn.other().ordinal()];
 
-        // non pawn moves
         long nonPawns = ownPieces & ~this.pawns & sourceMask;
-        for (int index : BitboardUtils.scanReversed(nonPawns)) {
-            Square source = Square.fromIndex(index);
-            long moves = attackMask(source) & ~ownPieces & targetMask;
-            for (int targetIndex : BitboardUtils.scanReversed(moves)) {
-                Square target = Square.fromIndex(targetIndex);
-                moveList.add(new Move(source, target));
+        for (long sources = nonPawns; sources != 0; sources = BitboardUtils.clearLsb(sources)) {
+            int index = BitboardUtils.lsb(sources);
+            long moves = attackMask(Square.fromIndex(index)) & ~ownPieces & targetMask;
+            if ((pinned & SQUARES[index]) != 0) {
+                moves &= BitboardUtils.ray(king, index);
+            }
+            for (long targets = moves; targets != 0; targets = BitboardUtils.clearLsb(targets)) {
+                int targetIndex = BitboardUtils.lsb(targets);
+                int flags = (SQUARES[targetIndex] & otherPieces) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET;
+                out.add(PackedMove.of(index, targetIndex, flags));
             }
         }
+    }
 
-        // castling moves
-        if ((sourceMask & this.kings) != 0) {
-            moveList.addAll(generateCastlingMoves(sourceMask, targetMask));
-        }
+    /**
+     * Appends the pawn captures and pawn advances to the given move list. En Passant is not included.
+     *
+     * <p>A pinned pawn only moves along the line through the king and the pawn.
+     *
+     * @param out        The move list to append the packed moves to.
+     * @param sourceMask The mask of the source squares.
+     * @param targetMask The mask of the target squares.
+     * @param king       The index of the king square, only used for pinned pawns.
+     * @param pinned     The mask of the pinned pieces, {@link Bitboard#EMPTY} for pseudo-legal moves.
+     */
+    private void generatePawnMoves(MoveList out, long sourceMask, long targetMask, int king, long pinned) {
+        long ownPieces = this.occupiedColor[this.turn.ordinal()];
+        long otherPieces = this.occupiedColor[this.turn.other().ordinal()];
 
         long pawns = this.pawns & ownPieces & sourceMask;
         if (pawns == 0) {
-            return moveList;
+            return;
         }
 
         // pawn captures
-        for (int captureIndex : BitboardUtils.scanReversed(pawns)) {
-            Square source = Square.fromIndex(captureIndex);
+        for (long capturers = pawns; capturers != 0; capturers = BitboardUtils.clearLsb(capturers)) {
+            int captureIndex = BitboardUtils.lsb(capturers);
 
             long targets = Bitboard.PAWN_ATTACKS[turn.ordinal()][captureIndex] &
                            targetMask &
-                           this.occupiedColor[turn.other().ordinal()];
+                           otherPieces;
+            if ((pinned & SQUARES[captureIndex]) != 0) {
+                targets &= BitboardUtils.ray(king, captureIndex);
+            }
 
-            for (int targetIndex : BitboardUtils.scanReversed(targets)) {
-                Square target = Square.fromIndex(targetIndex);
-                if (target.isBackrank()) {
+            for (long remaining = targets; remaining != 0; remaining = BitboardUtils.clearLsb(remaining)) {
+                int targetIndex = BitboardUtils.lsb(remaining);
+                if ((SQUARES[targetIndex] & (RANK_1 | RANK_8)) != 0) {
                     // pawn capture with promotion
-                    moveList.add(new Move(source, target, PieceType.QUEEN));
-                    moveList.add(new Move(source, target, PieceType.ROOK));
-                    moveList.add(new Move(source, target, PieceType.BISHOP));
-                    moveList.add(new Move(source, target, PieceType.KNIGHT));
+                    addPromotions(out, captureIndex, targetIndex, true);
                 } else {
                     // normal pawn capture
-                    moveList.add(new Move(source, target));
+                    out.add(PackedMove.of(captureIndex, targetIndex, PackedMove.CAPTURE));
                 }
-
             }
         }
 
+        // pinned pawns can only advance on the file of the king
+        if (pinned != 0) {
+            pawns &= ~pinned | FILES[king & 7];
+        }
+
         // pawn advance
         long singlePawnMoves;
         long doublePawnMoves;
@@ -399,33 +562,39 @@ public class Board extends BaseBoard {
         doublePawnMoves &= targetMask;
 
         // single pawn advance
-        for (int index : BitboardUtils.scanReversed(singlePawnMoves)) {
-            Square target = Square.fromIndex(index);
-            Square source = Square.fromIndex(index - turn.forwardDirection() * 8);
+        for (long targets = singlePawnMoves; targets != 0; targets = BitboardUtils.clearLsb(targets)) {
+            int index = BitboardUtils.lsb(targets);
+            int source = index - turn.forwardDirection() * 8;
 
-            if (target.isBackrank()) {
+            if ((SQUARES[index] & (RANK_1 | RANK_8)) != 0) {
                 // pawn advance with promotion
-                moveList.add(new Move(source, target, PieceType.QUEEN));
-                moveList.add(new Move(source, target, PieceType.ROOK));
-                moveList.add(new Move(source, target, PieceType.BISHOP));
-                moveList.add(new Move(source, target, PieceType.KNIGHT));
+                addPromotions(out, source, index, false);
             } else {
                 // normal pawn advance
-                moveList.add(new Move(source, target));
+                out.add(PackedMove.of(source, index));
             }
         }
 
         // double pawn advance
-        for (int index : BitboardUtils.scanReversed(doublePawnMoves)) {
-            Square target = Square.fromIndex(index);
-            Square source = Square.fromIndex(index - turn.forwardDirection() * 16);
-            moveList.add(new Move(source, target));
+        for (long targets = doublePawnMoves; targets != 0; targets = BitboardUtils.clearLsb(targets)) {
+            int index = BitboardUtils.lsb(targets);
+            out.add(PackedMove.of(index - turn.forwardDirection() * 16, index, PackedMove.DOUBLE_PAWN_PUSH));
         }
+    }
 
-        if (epSquare != null) {
-            moveList.addAll(generatePseudoLegalEnPassant(sourceMask, targetMask));
-        }
-        return moveList;
+    /**
+     * Appends the four promotion moves of a pawn to the given move list.
+     *
+     * @param out     The move list to append the packed moves to.
+     * @param source  The index of the source square.
+     * @param target  The index of the target square.
+     * @param capture Whether the promotion captures a piece.
+     */
+    private static void addPromotions(MoveList out, int source, int target, boolean capture) {
+        out.add(PackedMove.ofPromotion(source, target, PieceType.QUEEN, capture));
+        out.add(PackedMove.ofPromotion(source, target, PieceType.ROOK, capture));
+        out.add(PackedMove.ofPromotion(source, target, PieceType.BISHOP, capture));
+        out.add(PackedMove.ofPromotion(source, target, PieceType.KNIGHT, capture));
     }
 
     /**
@@ -450,15 +619,27 @@ public class Board extends BaseBoard {
      * @return A set of pseudo-legal En passant moves.
      */
     public Set<Move> generatePseudoLegalEnPassant(long sourceMask, long targetMask) {
-        Set<Move> moves = new HashSet<>();
+        MoveList moves = new MoveList();
+        generatePseudoLegalEnPassant(moves, sourceMask, targetMask);
+        return moves.toMoveSet();
+    }
 
+    /**
+     * Appends the pseudo-legal En passant moves with the given bitboard masks to the given move list.
+     *
+     * @param out        The move list to append the packed moves to.
+     * @param sourceMask The mask of the source squares.
+     * @param targetMask The mask of the target squares.
+     * @see #generatePseudoLegalEnPassant(long, long)
+     */
+    public void generatePseudoLegalEnPassant(MoveList out, long sourceMask, long targetMask) {
         if (epSquare == null || (SQUARES[epSquare.ordinal()] & targetMask) == 0) {
-            return moves;
+            return;
         }
 
         // epSquare is occupied
         if ((SQUARES[epSquare.ordinal()] & this.occupied) != 0) {
-            return moves;
+            return;
         }
 
         long rankMask = this.turn.equals(Color.WHITE) ? Bitboard.RANKS[4] : Bitboard.RANKS[3];
@@ -466,12 +647,10 @@ public class Board extends BaseBoard {
 
         long capturers = this.pawns & this.occupiedColor[turn.ordinal()] & sourceMask & attackMask & rankMask;
 
-        for (int index : BitboardUtils.scanReversed(capturers)) {
-            Square source = Square.fromIndex(index);
-            moves.add(new Move(source, epSquare));
+        for (long sources = capturers; sources != 0; sources = BitboardUtils.clearLsb(sources)) {
+            int index = BitboardUtils.lsb(sources);
+            out.add(PackedMove.of(index, epSquare.ordinal(), PackedMove.EN_PASSANT));
         }
-
-        return moves;
     }
 
     /**
@@ -480,7 +659,12 @@ public class Board extends BaseBoard {
      * @return True if there is a legal En Passant move, false otherwise.
      */
     public boolean hasLegalEnPassant() {
-        return this.epSquare != null && !generateLegalEnPassant().isEmpty();
+        if (this.epSquare == null) {
+            return false;
+        }
+        enPassantBuffer.clear();
+        generateLegalEnPassant(enPassantBuffer, ALL, ALL);
+        return !enPassantBuffer.isEmpty();
     }
 
     /**
@@ -509,15 +693,30 @@ public class Board extends BaseBoard {
      * @return A set of legal En passant moves.
      */
     public Set<Move> generateLegalEnPassant(long sourceMask, long targetMask) {
-        Set<Move> moves = new HashSet<>();
+        MoveList moves = new MoveList();
+        generateLegalEnPassant(moves, sourceMask, targetMask);
+        return moves.toMoveSet();
+    }
+
+    /**
+     * Appends the legal En passant moves with the given bitboard masks to the given move list.
+     *
+     * @param out        The move list to append the packed moves to.
+     * @param sourceMask The mask of the source squares.
+     * @param targetMask The mask of the target squares.
+     */
+    public void generateLegalEnPassant(MoveList out, long sourceMask, long targetMask) {
+        int start = out.size();
+        generatePseudoLegalEnPassant(out, sourceMask, targetMask);
 
-        for (Move move : generatePseudoLegalEnPassant(sourceMask, targetMask)) {
+        int size = start;
+        for (int i = start; i < out.size(); i++) {
+            int move = out.get(i);
             if (isKingSafe(move)) {
-                moves.add(move);
+                out.set(size++, move);
             }
         }
-
-        return moves;
+        out.truncate(size);
     }
 
     /**
@@ -537,14 +736,25 @@ public class Board extends BaseBoard {
      * @return A set of legal castling moves.
      */
     public Set<Move> generateCastlingMoves(long sourceMask, long targetMask) {
-        Set<Move> moves = new HashSet<>();
+        MoveList moves = new MoveList();
+        generateCastlingMoves(moves, sourceMask, targetMask);
+        return moves.toMoveSet();
+    }
 
+    /**
+     * Appends the legal castling moves with the given bitboard masks to the given move list.
+     *
+     * @param out        The move list to append the packed moves to.
+     * @param sourceMask The mask of the source squares.
+     * @param targetMask The mask of the target squares.
+     */
+    public void generateCastlingMoves(MoveList out, long sourceMask, long targetMask) {
         long backrank = this.turn.equals(Color.WHITE) ? RANK_1 : RANK_8;
         long king = this.occupiedColor[turn.ordinal()] & this.kings & ~this.promoted & backrank & sourceMask;
         king &= -king;
 
         if (king == 0) {
-            return moves;
+            return;
         }
 
         long c = FILE_C & backrank;
@@ -554,9 +764,10 @@ public class Board extends BaseBoard {
 
         long castling = cleanCastlingRights() & backrank & targetMask;
 
-        for (int index : BitboardUtils.scanReversed(castling)) {
+        for (long rooks = castling; rooks != 0; rooks = BitboardUtils.clearLsb(rooks)) {
+            int index = BitboardUtils.lsb(rooks);
             long rook = SQUARES[index];
-            boolean queenSide = rook < king;
+            boolean queenSide = index < BitboardUtils.msb(king);
 
             long kingTarget = queenSide ? c : g;
             long rookTarget = queenSide ? d : f;
@@ -572,26 +783,23 @@ public class Board extends BaseBoard {
             if (!(((this.occupied ^ king ^ rook) & (kingPath | rookPath | kingTarget | rookTarget)) != 0 ||
                   attackedForKing(kingPath | king, this.occupied ^ king) ||
                   attackedForKing(kingTarget, this.occupied ^ king ^ rook ^ rookTarget))) {
-                Square source = Square.fromIndex(BitboardUtils.msb(king));
-                Square target = Square.fromIndex(index);
-
-                if (source == Square.E1 && (this.kings & E1) != 0) {
-                    if (target == Square.H1) {
-                        moves.add(new Move(Square.E1, Square.G1));
-                    } else if (target == Square.A1) {
-                        moves.add(new Move(Square.E1, Square.C1));
+                int source = BitboardUtils.msb(king);
+
+                if (source == Square.E1.ordinal() && (this.kings & E1) != 0) {
+                    if (index == Square.H1.ordinal()) {
+                        out.add(PackedMove.of(source, Square.G1.ordinal(), PackedMove.KING_CASTLE));
+                    } else if (index == Square.A1.ordinal()) {
+                        out.add(PackedMove.of(source, Square.C1.ordinal(), PackedMove.QUEEN_CASTLE));
                     }
-                } else if (source == Square.E8 && (this.kings & E8) != 0) {
-                    if (target == Square.H8) {
-                        moves.add(new Move(Square.E8, Square.G8));
-                    } else if (target == Square.A8) {
-                        moves.add(new Move(Square.E8, Square.C8));
+                } else if (source == Square.E8.ordinal() && (this.kings & E8) != 0) {
+                    if (index == Square.H8.ordinal()) {
+                        out.add(PackedMove.of(source, Square.G8.ordinal(), PackedMove.KING_CASTLE));
+                    } else if (index == Square.A8.ordinal()) {
+                        out.add(PackedMove.of(source, Square.C8.ordinal(), PackedMove.QUEEN_CASTLE));
                     }
                 }
             }
         }
-
-        return moves;
     }
 
     /**
@@ -611,12 +819,170 @@ public class Board extends BaseBoard {
      * @return A set of legal captures.
      */
     public Set<Move> generateLegalCaptures(long sourceMask, long targetMask) {
-        Set<Move> moves = new HashSet<>();
-        moves.addAll(generateLegalMoves(sourceMask, targetMask & this.occupiedColor[turn.other().ordinal()]));
-        moves.addAll(generateLegalEnPassant(sourceMask, targetMask));
+        MoveList moves = new MoveList();
+        generateLegalCaptures(moves, sourceMask, targetMask);
+        return moves.toMoveSet();
+    }
+
+    /**
+     * Appends the legal captures with the given bitboard masks to the given move list.
+     *
+     * @param out        The move list to append the packed moves to.
+     * @param sourceMask The mask of the source squares.
+     * @param targetMask The mask of the target squares.
+     */
+    public void generateLegalCaptures(MoveList out, long sourceMask, long targetMask) {
+        long captures = targetMask & this.occupiedColor[turn.other().ordinal()];
+        long epMask = this.epSquare == null ? EMPTY : targetMask & SQUARES[this.epSquare.ordinal()];
+        generateLegalMoves(out, sourceMask, captures, captures, epMask);
+    }
 
-        return moves;
+    /**
+     * Appends all legal captures and promotions to the given move list.
+     *
+     * <p>This includes En Passant and promotions without capture. It is meant for the quiescence search.
+     *
+     * @param out The move list to append the packed moves to.
+     */
+    public void generateLegalCapturesAndPromotions(MoveList out) {
+        long captures = this.occupiedColor[turn.other().ordinal()];
+        long promotions = this.turn == Color.WHITE ? RANK_8 : RANK_1;
+        long epMask = this.epSquare == null ? EMPTY : SQUARES[this.epSquare.ordinal()];
+        generateLegalMoves(out, ALL, captures, captures | promotions, epMask);
+    }
 
+    /**
+     * Appends all legal quiet moves to the given move list.
+     *
+     * <p>Quiet moves are all moves that neither capture nor promote, including castling.
+     *
+     * @param out The move list to append the packed moves to.
+     */
+    public void generateLegalQuietMoves(MoveList out) {
+        long empty = ~this.occupied;
+        long promotions = this.turn == Color.WHITE ? RANK_8 : RANK_1;
+        generateLegalMoves(out, ALL, empty, empty & ~promotions, this.occupiedColor[turn.ordinal()]);
+    }
+
+    /**
+     * Appends all legal quiet moves that give check to the given move list.
+     *
+     * <p>A move gives a direct check if the moved piece lands on a square that attacks the other king,
+     * or a discovered check if it leaves the line between one of its own sliding pieces and the other king.
+     * Both are tested with masks that are computed once per call.
+     *
+     * @param out The move list to append the packed moves to.
+     * @see #generateLegalQuietMoves(MoveList)
+     */
+    public void generateLegalQuietChecks(MoveList out) {
+        Square otherKing = getKingSquare(this.turn.other());
+        if (otherKing == null) {
+            return;
+        }
+
+        int start = out.size();
+        generateLegalQuietMoves(out);
+
+        int king = otherKing.ordinal();
+        long discoverers = discoveredCheckBlockers(king);
+        long knightChecks = KNIGHT_ATTACKS[king];
+        long bishopChecks = SliderAttacks.bishopAttacks(king, this.occupied);
+        long rookChecks = SliderAttacks.rookAttacks(king, this.occupied);
+        long pawnChecks = PAWN_ATTACKS[turn.other().ordinal()][king];
+
+        int size = start;
+        for (int i = start; i < out.size(); i++) {
+            int move = out.get(i);
+            int source = PackedMove.getSource(move);
+            long target = SQUARES[PackedMove.getTarget(move)];
+
+            boolean check;
+            if (PackedMove.isCastling(move)) {
+                check = castlingGivesCheck(move, king);
+            } else if ((discoverers & SQUARES[source]) != 0 && (BitboardUtils.ray(king, source) & target) == 0) {
+                check = true;
+            } else {
+                switch (pieceTypeAt(Square.fromIndex(source))) {
+                    case PAWN:
+                        check = (pawnChecks & target) != 0;
+                        break;
+                    case KNIGHT:
+                        check = (knightChecks & target) != 0;
+                        break;
+                    case BISHOP:
+                        check = (bishopChecks & target) != 0;
+                        break;
+                    case ROOK:
+                        check = (rookChecks & target) != 0;
+                        break;
+                    case QUEEN:
+                        check = ((bishopChecks | rookChecks) & target) != 0;
+                        break;
+                    default:
+                        check = false;
+                        break;
+                }
+            }
+            if (check) {
+                out.set(size++, move);
+            }
+        }
+        out.truncate(size);
+    }
+
+    /**
+     * Appends all legal moves that get out of check to the given move list.
+     *
+     * <p>Nothing is appended if the side to move is not in check.
+     *
+     * @param out The move list to append the packed moves to.
+     */
+    public void generateLegalEvasions(MoveList out) {
+        if (isCheck()) {
+            generateLegalMoves(out, ALL, ALL, ALL, ALL);
+        }
+    }
+
+    /**
+     * Detects the pieces of the side to move that block a sliding piece of the same side from the other king.
+     *
+     * @param kingSquareIndex The index of the square of the other king.
+     * @return Mask containing the squares of the pieces that give a discovered check when they leave the line.
+     */
+    private long discoveredCheckBlockers(int kingSquareIndex) {
+        long ownPieces = this.occupiedColor[turn.ordinal()];
+        long snipers = (SliderAttacks.rookAttacks(kingSquareIndex, EMPTY) & (this.rooks | this.queens) |
+                        SliderAttacks.bishopAttacks(kingSquareIndex, EMPTY) & (this.bishops | this.queens)) &
+                       ownPieces;
+
+        long blockers = 0;
+        for (long remaining = snipers; remaining != 0; remaining = BitboardUtils.clearLsb(remaining)) {
+            long b = BitboardUtils.between(kingSquareIndex, BitboardUtils.lsb(remaining)) & this.occupied;
+            if (b != 0 && SQUARES[BitboardUtils.msb(b)] == b) {
+                blockers |= b;
+            }
+        }
+        return blockers & ownPieces;
+    }
+
+    /**
+     * Checks if the given castling move gives check by the rook or by a sliding piece behind the king.
+     *
+     * @param move            The packed castling move.
+     * @param kingSquareIndex The index of the square of the other king.
+     * @return True if the castling move gives check, false otherwise.
+     */
+    private boolean castlingGivesCheck(int move, int kingSquareIndex) {
+        int source = PackedMove.getSource(move);
+        int target = PackedMove.getTarget(move);
+        boolean kingSide = target > source;
+        int rookSource = kingSide ? source + 3 : source - 4;
+        int rookTarget = kingSide ? source + 1 : source - 1;
+
+        long occupancy = this.occupied ^ SQUARES[source] ^ SQUARES[target] ^ SQUARES[rookSource] ^ SQUARES[rookTarget];
+        // the bitboards still hold king and rook on their old squares, neither of them can attack the other king
+        return (SliderAttacks.rookAttacks(rookTarget, occupancy) & SQUARES[kingSquareIndex]) != 0 ||
+               attackersMask(this.turn, Square.fromIndex(kingSquareIndex), occupancy) != 0;
     }
 
     /**
@@ -636,12 +1002,21 @@ public class Board extends BaseBoard {
      * @return A set of pseudo-legal captures.
      */
     public Set<Move> generatePseudoLegalCaptures(long sourceMask, long targetMask) {
-        Set<Move> moves = new HashSet<>();
-        moves.addAll(generatePseudoLegalMoves(sourceMask, targetMask & this.occupiedColor[turn.other().ordinal()]));
-        moves.addAll(generatePseudoLegalEnPassant(sourceMask, targetMask));
-
-        return moves;
+        MoveList moves = new MoveList();
+        generatePseudoLegalCaptures(moves, sourceMask, targetMask);
+        return moves.toMoveSet();
+    }
 
+    /**
+     * Appends the pseudo-legal captures with the given bitboard masks to the given move list.
+     *
+     * @param out        The move list to append the packed moves to.
+     * @param sourceMask The mask of the source squares.
+     * @param targetMask The mask of the target squares.
+     */
+    public void generatePseudoLegalCaptures(MoveList out, long sourceMask, long targetMask) {
+        generatePseudoLegalMoves(out, sourceMask, targetMask & this.occupiedColor[turn.other().ordinal()]);
+        generatePseudoLegalEnPassant(out, sourceMask, targetMask);
     }
 
     /**
@@ -652,7 +1027,8 @@ public class Board extends BaseBoard {
      * @return True if the path is attacked, false otherwise.
      */
     private boolean attackedForKing(long path, long occupied) {
-        for (int index : BitboardUtils.scanReversed(path)) {
+        for (long squares = path; squares != 0; squares = BitboardUtils.clearLsb(squares)) {
+            int index = BitboardUtils.lsb(squares);
             if (attackersMask(turn.other(), Square.fromIndex(index), occupied) != 0) {
                 return true;
             }
@@ -746,16 +1122,28 @@ public class Board extends BaseBoard {
      * @return True if the move is legal, false otherwise.
      */
     public boolean isLegal(Move move) {
+        return isPseudoLegal(move) && isKingSafe(packMove(move));
+    }
+
+    /**
+     * Checks if the given packed move is legal.
+     *
+     * <p>The flags of the packed move must match the flags returned by {@link #packMove(Move)}.
+     *
+     * @param move The packed move.
+     * @return True if the move is legal, false otherwise.
+     */
+    public boolean isLegal(int move) {
         return isPseudoLegal(move) && isKingSafe(move);
     }
 
     /**
-     * Checks if the given move is safe, i.e. it does not put the king in check.
+     * Checks if the given packed move is safe, i.e. it does not put the king in check.
      *
-     * @param move The move.
+     * @param move The packed move.
      * @return False if the move puts or leaves the king in check, true otherwise.
      */
-    private boolean isKingSafe(Move move) {
+    private boolean isKingSafe(int move) {
         Square kingSquare = this.getKingSquare(this.turn);
 
         if (kingSquare == null) {
@@ -763,38 +1151,76 @@ public class Board extends BaseBoard {
         }
 
         long checkers = attackersMask(turn.other(), kingSquare);
-        if (checkers != 0 && !generateEvasions(kingSquare.ordinal(), checkers,
-                                               SQUARES[move.getSource().ordinal()],
-                                               SQUARES[move.getTarget().ordinal()]).contains(move)) {
+        if (checkers != 0 && !isEvasion(kingSquare.ordinal(), checkers, move)) {
             return false;
         }
 
-        return isSafe(kingSquare, this.sliderBlockers(kingSquare.ordinal()), move);
+        return isSafe(kingSquare.ordinal(), this.sliderBlockers(kingSquare.ordinal()), move);
+    }
+
+    /**
+     * Checks if the given pseudo-legal move is one of the moves generated by
+     * {@link #generateEvasions(MoveList, int, long, long, long)}.
+     *
+     * @param kingSquareIndex The index of the king square.
+     * @param checkers        Mask that contains the squares of all pieces which are giving check.
+     * @param move            The packed move which has to be checked.
+     * @return True if the move may get out of check, false otherwise.
+     */
+    private boolean isEvasion(int kingSquareIndex, long checkers, int move) {
+        int source = PackedMove.getSource(move);
+        int target = PackedMove.getTarget(move);
+
+        if (source == kingSquareIndex) {
+            if (PackedMove.isCastling(move)) {
+                return false;
+            }
+            long sliders = checkers & (this.bishops | this.rooks | this.queens);
+            for (long remaining = sliders; remaining != 0; remaining = BitboardUtils.clearLsb(remaining)) {
+                int checker = BitboardUtils.lsb(remaining);
+                if ((BitboardUtils.ray(kingSquareIndex, checker) & ~SQUARES[checker] & SQUARES[target]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int checker = BitboardUtils.msb(checkers);
+        if (SQUARES[checker] != checkers) {
+            return false;
+        }
+        long block = BitboardUtils.between(kingSquareIndex, checker) | checkers;
+        if ((SQUARES[target] & block) != 0) {
+            return true;
+        }
+        return PackedMove.isEnPassant(move) && target - 8 * turn.forwardDirection() == checker;
     }
 
     /**
      * Checks if the given square is safe after making a move.
      *
-     * @param kingSquare The given square. In most cases this will be the king square.
+     * @param kingSquare The index of the given square. In most cases this will be the king square.
      * @param blockers   A bitboard containing the squares of all pieces
      *                   that block an attack from a sliding piece.
-     * @param move       The move which has to be checked.
+     * @param move       The packed move which has to be checked.
      * @return True if the given square is safe after making the move, false otherwise.
      */
-    private boolean isSafe(Square kingSquare, long blockers, Move move) {
-        if (move.getSource() == kingSquare) {
-            if (isCastling(move)) {
+    private boolean isSafe(int kingSquare, long blockers, int move) {
+        int source = PackedMove.getSource(move);
+        int target = PackedMove.getTarget(move);
+
+        if (source == kingSquare) {
+            if (PackedMove.isCastling(move)) {
                 return true;
             } else {
-                return !isAttackedBy(turn.other(), move.getTarget());
+                return !isAttackedBy(turn.other(), Square.fromIndex(target));
             }
-        } else if (isEnPassant(move)) {
-            return (pinMask(turn, move.getSource()) & SQUARES[move.getTarget().ordinal()]) != 0 &&
-                   !epSkewered(kingSquare, move.getSource());
+        } else if (PackedMove.isEnPassant(move)) {
+            return (pinMask(turn, Square.fromIndex(source)) & SQUARES[target]) != 0 &&
+                   !epSkewered(Square.fromIndex(kingSquare), Square.fromIndex(source));
         } else {
-            return (blockers & SQUARES[move.getSource().ordinal()]) == 0 ||
-                   (BitboardUtils.ray(move.getSource().ordinal(), move.getTarget().ordinal()) &
-                    SQUARES[kingSquare.ordinal()]) != 0;
+            return (blockers & SQUARES[source]) == 0 ||
+                   (BitboardUtils.ray(source, target) & SQUARES[kingSquare]) != 0;
         }
     }
 
@@ -812,16 +1238,14 @@ public class Board extends BaseBoard {
                          SQUARES[this.epSquare.ordinal()];
 
         long horizontalAttackers = this.occupiedColor[turn.other().ordinal()] & (this.rooks | this.queens);
-        if ((
-                    RANK_ATTACKS.get(kingSquare.ordinal())
-                            .get((RANK_MASKS[kingSquare.ordinal()] & occupancy)) & horizontalAttackers) != 0) {
+        long rankAttacks = SliderAttacks.rookAttacks(kingSquare.ordinal(), occupancy) &
+                           RANKS[kingSquare.getRankIndex()];
+        if ((rankAttacks & horizontalAttackers) != 0) {
             return true;
         }
 
         long diagonalAttackers = this.occupiedColor[turn.other().ordinal()] & (this.bishops | this.queens);
-        return (
-                       DIAGONAL_ATTACKS.get(kingSquare.ordinal())
-                               .get((DIAGONAL_MASKS[kingSquare.ordinal()] & occupancy)) & diagonalAttackers) != 0;
+        return (SliderAttacks.bishopAttacks(kingSquare.ordinal(), occupancy) & diagonalAttackers) != 0;
 
     }
 
@@ -839,24 +1263,18 @@ public class Board extends BaseBoard {
         }
 
         long squareMask = Bitboard.SQUARES[square.ordinal()];
+        long line = BitboardUtils.ray(king.ordinal(), square.ordinal());
+        if (line == 0) {
+            return Bitboard.ALL;
+        }
 
-        long[][] attacks = new long[][]{
-                {Bitboard.FILE_ATTACKS.get(king.ordinal()).get(0L), this.rooks | this.queens},
-                {Bitboard.RANK_ATTACKS.get(king.ordinal()).get(0L), this.rooks | this.queens},
-                {Bitboard.DIAGONAL_ATTACKS.get(king.ordinal()).get(0L), this.bishops | this.queens}
-        };
-
-        for (long[] attack : attacks) {
-            long rays = attack[0];
-            if ((rays & squareMask) != 0) {
-                long snipers =
-                        rays & attack[1] & this.occupied & this.occupiedColor[color.other().ordinal()];
-                for (int sniper : BitboardUtils.scanReversed(snipers)) {
-                    if ((BitboardUtils.between(sniper, king.ordinal()) & (this.occupied | squareMask)) == squareMask) {
-                        return BitboardUtils.ray(king.ordinal(), sniper);
-                    }
-                }
-                break;
+        long rookRays = SliderAttacks.rookAttacks(king.ordinal(), EMPTY);
+        long sliders = (rookRays & squareMask) != 0 ? this.rooks | this.queens : this.bishops | this.queens;
+        long snipers = line & sliders & this.occupied & this.occupiedColor[color.other().ordinal()];
+        for (long remaining = snipers; remaining != 0; remaining = BitboardUtils.clearLsb(remaining)) {
+            int sniper = BitboardUtils.lsb(remaining);
+            if ((BitboardUtils.between(sniper, king.ordinal()) & (this.occupied | squareMask)) == squareMask) {
+                return line;
             }
         }
 
@@ -935,13 +1353,14 @@ public class Board extends BaseBoard {
         long rooksAndQueens = this.rooks | this.queens;
         long bishopsAndQueens = this.bishops | this.queens;
 
-        long snipers = ((RANK_ATTACKS.get(kingSquareIndex).get(0L) & rooksAndQueens) |
-                        (FILE_ATTACKS.get(kingSquareIndex).get(0L) & rooksAndQueens) |
-                        (DIAGONAL_ATTACKS.get(kingSquareIndex).get(0L) & bishopsAndQueens));
+        long snipers = ((SliderAttacks.rookAttacks(kingSquareIndex, EMPTY) & rooksAndQueens) |
+                        (SliderAttacks.bishopAttacks(kingSquareIndex, EMPTY) & bishopsAndQueens));
 
         long blockers = 0;
 
-        for (int sniper : BitboardUtils.scanReversed(snipers & this.occupiedColor[turn.other().ordinal()])) {
+        long enemySnipers = snipers & this.occupiedColor[turn.other().ordinal()];
+        for (long remaining = enemySnipers; remaining != 0; remaining = BitboardUtils.clearLsb(remaining)) {
+            int sniper = BitboardUtils.lsb(remaining);
             long b = BitboardUtils.between(kingSquareIndex, sniper) & this.occupied;
 
             if (b != 0 && SQUARES[BitboardUtils.msb(b)] == b) {
@@ -953,45 +1372,75 @@ public class Board extends BaseBoard {
     }
 
     /**
-     * Generates a set of moves to get out of check.
+     * Returns a mask of all squares that are attacked by the given color.
+     *
+     * @param color    The attacking color.
+     * @param occupied The occupied squares that block sliding pieces.
+     * @return A mask of all squares that are attacked by the given color.
+     */
+    private long attackedSquares(Color color, long occupied) {
+        long pieces = this.occupiedColor[color.ordinal()];
+        long pawns = this.pawns & pieces;
+
+        long attacked = color == Color.WHITE ?
+                        BitboardUtils.shiftUpLeft(pawns) | BitboardUtils.shiftUpRight(pawns) :
+                        BitboardUtils.shiftDownLeft(pawns) | BitboardUtils.shiftDownRight(pawns);
+
+        for (long knights = this.knights & pieces; knights != 0; knights = BitboardUtils.clearLsb(knights)) {
+            attacked |= KNIGHT_ATTACKS[BitboardUtils.lsb(knights)];
+        }
+        long diagonals = (this.bishops | this.queens) & pieces;
+        for (; diagonals != 0; diagonals = BitboardUtils.clearLsb(diagonals)) {
+            attacked |= SliderAttacks.bishopAttacks(BitboardUtils.lsb(diagonals), occupied);
+        }
+        long lines = (this.rooks | this.queens) & pieces;
+        for (; lines != 0; lines = BitboardUtils.clearLsb(lines)) {
+            attacked |= SliderAttacks.rookAttacks(BitboardUtils.lsb(lines), occupied);
+        }
+        for (long kings = this.kings & pieces; kings != 0; kings = BitboardUtils.clearLsb(kings)) {
+            attacked |= KING_ATTACKS[BitboardUtils.lsb(kings)];
+        }
+        return attacked;
+    }
+
+    /**
+     * Appends the pseudo-legal moves that get out of check to the given move list.
      *
+     * @param out             The move list to append the packed moves to.
      * @param kingSquareIndex The index of the king square.
      * @param checkers        Mask that contains the squares of all pieces which are giving check.
      * @param sourceMask      The mask of the source squares.
      * @param targetMask      The mask of the target squares.
-     * @return Set of moves to get out of check.
      */
-    private Set<Move> generateEvasions(int kingSquareIndex, long checkers, long sourceMask, long targetMask) {
-        Set<Move> moves = new HashSet<>();
-
+    private void generateEvasions(MoveList out, int kingSquareIndex, long checkers, long sourceMask, long targetMask) {
         long sliders = checkers & (this.bishops | this.rooks | this.queens);
         long attacked = 0;
 
-        for (int checker : BitboardUtils.scanReversed(sliders)) {
+        for (long remaining = sliders; remaining != 0; remaining = BitboardUtils.clearLsb(remaining)) {
+            int checker = BitboardUtils.lsb(remaining);
             attacked |= BitboardUtils.ray(kingSquareIndex, checker) & ~SQUARES[checker];
         }
         if ((SQUARES[kingSquareIndex] & sourceMask) != 0) {
+            long otherPieces = this.occupiedColor[turn.other().ordinal()];
             long mask = KING_ATTACKS[kingSquareIndex] & ~this.occupiedColor[turn.ordinal()] & ~attacked & targetMask;
-            int[] targets = BitboardUtils.scanReversed(mask);
-            for (int target : targets) {
-                moves.add(new Move(Square.fromIndex(kingSquareIndex), Square.fromIndex(target)));
+            for (long targets = mask; targets != 0; targets = BitboardUtils.clearLsb(targets)) {
+                int target = BitboardUtils.lsb(targets);
+                int flags = (SQUARES[target] & otherPieces) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET;
+                out.add(PackedMove.of(kingSquareIndex, target, flags));
             }
         }
         int checker = BitboardUtils.msb(checkers);
         if (SQUARES[checker] == checkers) {
             long target = BitboardUtils.between(kingSquareIndex, checker) | checkers;
-            moves.addAll(generatePseudoLegalMoves(~this.kings & sourceMask, target & targetMask));
+            generatePseudoLegalMoves(out, ~this.kings & sourceMask, target & targetMask);
 
             if (this.epSquare != null && (SQUARES[epSquare.ordinal()] & target) == 0) {
                 int lastDouble = this.epSquare.ordinal() - 8 * turn.forwardDirection();
                 if (lastDouble == checker) {
-                    moves.addAll(generatePseudoLegalEnPassant(sourceMask, targetMask));
+                    generatePseudoLegalEnPassant(out, sourceMask, targetMask);
                 }
             }
         }
-
-
-        return moves;
     }
 
     /**
@@ -1042,6 +1491,25 @@ public class Board extends BaseBoard {
         return (attackMask(move.getSource()) & targetMask) != 0;
     }
 
+    /**
+     * Checks if the given packed move is pseudo-legal.
+     *
+     * <p>The flags of the packed move must match the flags returned by {@link #packMove(Move)}.
+     *
+     * @param move The packed move.
+     * @return True if the move is pseudo-legal, false otherwise.
+     */
+    public boolean isPseudoLegal(int move) {
+        if (move == PackedMove.NONE) {
+            return false;
+        }
+        if (PackedMove.isPromotion(move) && !Square.fromIndex(PackedMove.getTarget(move)).isBackrank()) {
+            return false;
+        }
+        Move unpacked = PackedMove.toMove(move);
+        return isPseudoLegal(unpacked) && packMove(unpacked) == move;
+    }
+
     /**
      * Gets the FEN representation of the current position.
      *
@@ -1116,9 +1584,8 @@ public class Board extends BaseBoard {
             return;
         }
 
-        BoardState state = this.getBoardState();
+        this.undoStack.push(this, repetitionKey());
         this.castlingRights = cleanCastlingRights();
-        this.stateStack.push(state);
         this.moveStack.addLast(move);
 
         Square epSquare = this.epSquare;
@@ -1171,48 +1638,169 @@ public class Board extends BaseBoard {
                 captureSquare = Square.fromIndex(epSquare.ordinal() - 8 * turn.forwardDirection());
                 capturedPieceType = removePieceType(captureSquare);
 
-            }
+            }
+        }
+
+        if (move.getPromotion() != null) {
+            promoted = true;
+            type = move.getPromotion();
+        }
+
+        boolean castling = type == PieceType.KING &&
+                           Math.abs(move.getTarget().getFileIndex() - move.getSource().getFileIndex()) > 1;
+        if (castling) {
+            boolean queenSide = move.getTarget().getFile() < move.getSource().getFile();
+            removePieceType(move.getSource());
+            if (queenSide) {
+                removePieceType(turn == Color.WHITE ? Square.A1 : Square.A8);
+                setPiece(turn == Color.WHITE ? Square.C1 : Square.C8, PieceType.KING, turn);
+                setPiece(turn == Color.WHITE ? Square.D1 : Square.D8, PieceType.ROOK, turn);
+            } else {
+                removePieceType(turn == Color.WHITE ? Square.H1 : Square.H8);
+                setPiece(turn == Color.WHITE ? Square.G1 : Square.G8, PieceType.KING, turn);
+                setPiece(turn == Color.WHITE ? Square.F1 : Square.F8, PieceType.ROOK, turn);
+            }
+        } else {
+            setPiece(move.getTarget(), type, this.turn, promoted);
+            if (capturedPieceType != null) {
+                this.halfMoveClock = 0;
+            }
+        }
+        this.turn = turn.other();
+    }
+
+    /**
+     * Restores the previous position and returns the last move from the move stack.
+     *
+     * @return The last move of the move stack.
+     * @throws NoSuchElementException if the move stack is empty.
+     */
+    public Move pop() {
+        Move move = this.moveStack.removeLast();
+        this.undoStack.pop(this);
+
+        return move;
+    }
+
+    /**
+     * Updates the position with the given packed move and puts it onto the move stack.
+     *
+     * @param move The packed move.
+     * @see #push(Move)
+     */
+    public void push(int move) {
+        push(PackedMove.toMove(move));
+    }
+
+    /**
+     * Restores the previous position and returns the last move from the move stack as packed move.
+     *
+     * <p>The flags of the returned move are computed for the restored position.
+     *
+     * @return The last move of the move stack as packed move.
+     * @throws NoSuchElementException if the move stack is empty.
+     */
+    public int popPacked() {
+        return packMove(pop());
+    }
+
+    /**
+     * Makes the packed move for search and perft, without putting it onto the move stack.
+     *
+     * <p>The board is updated directly from the flags of the move, so the move must have been generated
+     * for the current position, e.g. by {@link #generateLegalMoves(MoveList)}. The move is not validated
+     * and no objects are created. Repetitions of positions reached this way are still detected.
+     *
+     * <p>Every call must be taken back by {@link #unmakeMove()} before a move of the move stack is
+     * taken back by {@link #pop()}.
+     *
+     * @param move The packed move with flags.
+     */
+    public void makeMove(int move) {
+        this.undoStack.push(this, repetitionKey());
+
+        int source = PackedMove.getSource(move);
+        int target = PackedMove.getTarget(move);
+        int flags = PackedMove.getFlags(move);
+        boolean white = this.turn == Color.WHITE;
+        PieceType type = pieceTypeAt(Square.fromIndex(source));
+
+        this.castlingRights = cleanCastlingRights() & ~SQUARES[source] & ~SQUARES[target];
+        this.epSquare = null;
+        this.halfMoveClock++;
+        if (!white) {
+            this.fullMoveNumber++;
+        }
+
+        if (flags == PackedMove.KING_CASTLE || flags == PackedMove.QUEEN_CASTLE) {
+            int backrank = white ? 0 : 56;
+            int rook = backrank + (flags == PackedMove.KING_CASTLE ? 7 : 0);
+            togglePiece(PieceType.KING, white, source);
+            togglePiece(PieceType.ROOK, white, rook);
+            togglePiece(PieceType.KING, white, backrank + (flags == PackedMove.KING_CASTLE ? 6 : 2));
+            togglePiece(PieceType.ROOK, white, backrank + (flags == PackedMove.KING_CASTLE ? 5 : 3));
+            this.castlingRights &= white ? ~RANK_1 : ~RANK_8;
+            super.promoted &= ~SQUARES[source] & ~SQUARES[rook];
+            this.turn = this.turn.other();
+            return;
         }
 
-        if (move.getPromotion() != null) {
-            promoted = true;
-            type = move.getPromotion();
+        if (flags == PackedMove.EN_PASSANT) {
+            togglePiece(PieceType.PAWN, !white, target - 8 * this.turn.forwardDirection());
+            this.halfMoveClock = 0;
+        } else if ((flags & PackedMove.CAPTURE) != 0) {
+            togglePiece(pieceTypeAt(Square.fromIndex(target)), !white, target);
+            this.halfMoveClock = 0;
         }
 
-        boolean castling =
-                type == PieceType.KING && (move.getTarget().getFile() == 'g' || move.getTarget().getFile() == 'c');
-        if (castling) {
-            boolean queenSide = move.getTarget().getFile() < move.getSource().getFile();
-            removePieceType(move.getSource());
-            if (queenSide) {
-                removePieceType(turn == Color.WHITE ? Square.A1 : Square.A8);
-                setPiece(turn == Color.WHITE ? Square.C1 : Square.C8, PieceType.KING, turn);
-                setPiece(turn == Color.WHITE ? Square.D1 : Square.D8, PieceType.ROOK, turn);
-            } else {
-                removePieceType(turn == Color.WHITE ? Square.H1 : Square.H8);
-                setPiece(turn == Color.WHITE ? Square.G1 : Square.G8, PieceType.KING, turn);
-                setPiece(turn == Color.WHITE ? Square.F1 : Square.F8, PieceType.ROOK, turn);
-            }
+        togglePiece(type, white, source);
+        if ((flags & PackedMove.PROMOTION) != 0) {
+            togglePiece(PackedMove.getPromotion(move), white, target);
+            super.promoted = super.promoted & ~SQUARES[source] | SQUARES[target];
         } else {
-            setPiece(move.getTarget(), type, this.turn, promoted);
-            if (capturedPieceType != null) {
-                this.halfMoveClock = 0;
+            togglePiece(type, white, target);
+            super.promoted &= ~SQUARES[source] & ~SQUARES[target];
+        }
+
+        if (type == PieceType.PAWN) {
+            this.halfMoveClock = 0;
+            if (flags == PackedMove.DOUBLE_PAWN_PUSH) {
+                this.epSquare = Square.fromIndex((source + target) / 2);
             }
+        } else if (type == PieceType.KING) {
+            this.castlingRights &= white ? ~RANK_1 : ~RANK_8;
         }
-        this.turn = turn.other();
+        this.turn = this.turn.other();
     }
 
     /**
-     * Restores the previous position and returns the last move from the move stack.
+     * Takes back the last move made by {@link #makeMove(int)}.
      *
-     * @return The last move of the move stack.
-     * @throws NoSuchElementException if the move stack is empty.
+     * @throws NoSuchElementException If no move was made.
      */
-    public Move pop() {
-        Move move = this.moveStack.removeLast();
-        this.stateStack.pop().restore(this);
+    public void unmakeMove() {
+        this.undoStack.pop(this);
+    }
 
-        return move;
+    /**
+     * Passes the turn to the opponent for null move pruning.
+     *
+     * <p>Unlike pushing a null move, this clears the En Passant square and can be taken back
+     * by {@link #unmakeNullMove()}. The move counters are not changed.
+     */
+    public void makeNullMove() {
+        this.undoStack.push(this, repetitionKey());
+        this.epSquare = null;
+        this.turn = this.turn.other();
+    }
+
+    /**
+     * Takes back the last null move made by {@link #makeNullMove()}, including the En Passant square.
+     *
+     * @throws NoSuchElementException If no null move was made.
+     */
+    public void unmakeNullMove() {
+        this.undoStack.pop(this);
     }
 
     /**
@@ -1238,16 +1826,6 @@ public class Board extends BaseBoard {
         return (moveMask & this.pawns) != 0 || (moveMask & this.occupiedColor[turn.other().ordinal()]) != 0;
     }
 
-    /**
-     * Returns a new board state of the current position.
-     *
-     * @return The board state of the current position.
-     * @see BoardState
-     */
-    private BoardState getBoardState() {
-        return new BoardState(this);
-    }
-
     /**
      * Parses the given string into a move, makes the move and puts it onto the move stack.
      *
@@ -1547,7 +2125,7 @@ public class Board extends BaseBoard {
             promotion = PieceType.QUEEN;
         }
 
-        Move move = new Move(sourceSquare, targetSquare, promotion);
+        Move move = Move.of(sourceSquare, targetSquare, promotion);
 
         if (!this.isLegal(move)) {
             throw new IllegalMoveException("Illegal move: " + move + " in " + getFen());
@@ -1606,7 +2184,7 @@ public class Board extends BaseBoard {
      * @return True if the current side to move is in checkmate, false otherwise.
      */
     public boolean isCheckmate() {
-        return isCheck() && generateLegalMoves().isEmpty();
+        return isCheck() && !hasLegalMove();
     }
 
     /**
@@ -1615,7 +2193,91 @@ public class Board extends BaseBoard {
      * @return True if the current side to move is in stalemate, false otherwise.
      */
     public boolean isStalemate() {
-        return !isCheck() && generateLegalMoves().isEmpty();
+        return !isCheck() && !hasLegalMove();
+    }
+
+    /**
+     * Checks if the side to move has at least one legal move.
+     *
+     * <p>The cheapest move classes are tried first: king steps, then moves of pieces that are not pinned.
+     * Only pinned pieces and En Passant are checked with the full legal move generation.
+     * The answer is cached for the current position, so the checks of {@link #outcome(boolean)}
+     * search for a legal move at most once.
+     *
+     * @return True if there is a legal move, false otherwise.
+     */
+    public boolean hasLegalMove() {
+        long key = getZobristKey();
+        if (legalMoveCache == LEGAL_MOVE_UNKNOWN || legalMoveCacheKey != key ||
+            legalMoveCacheOccupied != this.occupied) {
+            legalMoveCacheKey = key;
+            legalMoveCacheOccupied = this.occupied;
+            legalMoveCache = searchLegalMove() ? LEGAL_MOVE_FOUND : LEGAL_MOVE_NONE;
+        }
+        return legalMoveCache == LEGAL_MOVE_FOUND;
+    }
+
+    /**
+     * Searches for a legal move of the side to move and stops at the first one.
+     *
+     * @return True if there is a legal move, false otherwise.
+     */
+    private boolean searchLegalMove() {
+        long own = this.occupiedColor[turn.ordinal()];
+        long kingMask = this.kings & own;
+        if (Long.bitCount(kingMask) != 1) {
+            return anyLegalMove(ALL);
+        }
+
+        int king = BitboardUtils.lsb(kingMask);
+        Color them = turn.other();
+        long occupiedWithoutKing = this.occupied & ~kingMask;
+        for (long targets = KING_ATTACKS[king] & ~own; targets != 0; targets = BitboardUtils.clearLsb(targets)) {
+            if (attackersMask(them, Square.fromIndex(BitboardUtils.lsb(targets)), occupiedWithoutKing) == 0) {
+                return true;
+            }
+        }
+
+        long checkers = attackersMask(them, Square.fromIndex(king));
+        if (checkers != 0) {
+            // only the king can get out of a double check
+            return Long.bitCount(checkers) == 1 && anyLegalMove(~kingMask);
+        }
+
+        // castling is not tried: it needs the king step to the square in-between, which was tried above
+        long free = own & ~kingMask & ~sliderBlockers(king);
+        for (long pieces = free & ~this.pawns; pieces != 0; pieces = BitboardUtils.clearLsb(pieces)) {
+            if ((attackMask(Square.fromIndex(BitboardUtils.lsb(pieces))) & ~own) != 0) {
+                return true;
+            }
+        }
+
+        long pawns = free & this.pawns;
+        long pushes = turn == Color.WHITE ? pawns << 8 : pawns >>> 8;
+        if ((pushes & ~this.occupied) != 0) {
+            return true;
+        }
+        long enemies = this.occupiedColor[them.ordinal()];
+        for (long remaining = pawns; remaining != 0; remaining = BitboardUtils.clearLsb(remaining)) {
+            if ((PAWN_ATTACKS[turn.ordinal()][BitboardUtils.lsb(remaining)] & enemies) != 0) {
+                return true;
+            }
+        }
+
+        // pinned pieces and En Passant
+        return anyLegalMove(own & ~kingMask & (~free | this.pawns));
+    }
+
+    /**
+     * Checks if there is a legal move from the given source squares.
+     *
+     * @param fromMask The mask of the source squares.
+     * @return True if there is a legal move, false otherwise.
+     */
+    private boolean anyLegalMove(long fromMask) {
+        legalMoveBuffer.clear();
+        generateLegalMoves(legalMoveBuffer, fromMask, ALL);
+        return !legalMoveBuffer.isEmpty();
     }
 
     /**
@@ -1697,7 +2359,7 @@ public class Board extends BaseBoard {
             return new Outcome(Termination.INSUFFICIENT_MATERIAL, null);
         }
 
-        if (generateLegalMoves().isEmpty()) {
+        if (!hasLegalMove()) {
             return new Outcome(Termination.STALEMATE, null);
         }
 
@@ -1771,7 +2433,7 @@ public class Board extends BaseBoard {
      * @return True if the halfmove clock is greater or equal to the given n, false otherwise.
      */
     private boolean isHalfmoves(int n) {
-        return this.halfMoveClock >= n && !generateLegalMoves().isEmpty();
+        return this.halfMoveClock >= n && hasLegalMove();
     }
 
     /**
@@ -1926,6 +2588,258 @@ public class Board extends BaseBoard {
         return (targetMask & otherColorMask) != 0 || this.isEnPassant(move);
     }
 
+    /**
+     * Computes the static exchange evaluation (SEE) of the given move.
+     *
+     * <p>The SEE is the material balance of the sequence of captures on the target square,
+     * seen from the side to move. Both sides capture with their least valuable piece and may stop at any time.
+     * Sliding pieces that attack through other attackers (x-rays) join the sequence when the square gets free.
+     * Pins are ignored, but the king only captures if the square is not attacked afterwards.
+     * The values are 100 for a pawn, 300 for a knight and a bishop, 500 for a rook and 900 for a queen.
+     *
+     * @param move The move, it is not checked for legality.
+     * @return The material balance of the exchange, 0 for castling.
+     */
+    public int see(Move move) {
+        return see(packMove(move));
+    }
+
+    /**
+     * Computes the static exchange evaluation (SEE) of the given packed move.
+     *
+     * <p>The flags of the packed move must match the flags returned by {@link #packMove(Move)}.
+     *
+     * @param move The packed move, it is not checked for legality.
+     * @return The material balance of the exchange, 0 for castling.
+     * @see #see(Move)
+     */
+    public int see(int move) {
+        if (PackedMove.isCastling(move)) {
+            return 0;
+        }
+
+        int target = PackedMove.getTarget(move);
+        long occupancy = seeOccupancy(move);
+
+        int[] gain = this.seeGain;
+        gain[0] = seeCaptured(move);
+        int attacker = seeAttacker(move);
+        long attackers = seeAttackers(target, occupancy);
+
+        int depth = 0;
+        Color side = this.turn;
+        while (true) {
+            side = side.other();
+            long sideAttackers = attackers & this.occupiedColor[side.ordinal()];
+            if (sideAttackers == 0) {
+                break;
+            }
+
+            long next = leastValuableAttacker(sideAttackers);
+            long nextOccupancy = occupancy ^ next;
+            long nextAttackers = seeAttackers(target, nextOccupancy);
+            if ((next & this.kings) != 0 && (nextAttackers & this.occupiedColor[side.other().ordinal()]) != 0) {
+                break;
+            }
+
+            depth++;
+            gain[depth] = attacker - gain[depth - 1];
+            attacker = SEE_VALUES[this.mailbox[BitboardUtils.lsb(next)]];
+            occupancy = nextOccupancy;
+            attackers = nextAttackers;
+        }
+
+        for (; depth > 0; depth--) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    /**
+     * Checks if the static exchange evaluation (SEE) of the given move is at least the given threshold.
+     *
+     * <p>This is faster than comparing {@link #see(Move)} with the threshold, because the capture sequence
+     * is stopped as soon as the result is known.
+     *
+     * @param move      The move, it is not checked for legality.
+     * @param threshold The threshold in centipawns.
+     * @return True if the SEE of the move is greater or equal to the threshold, false otherwise.
+     * @see #see(Move)
+     */
+    public boolean seeGreaterOrEqual(Move move, int threshold) {
+        return seeGreaterOrEqual(packMove(move), threshold);
+    }
+
+    /**
+     * Checks if the static exchange evaluation (SEE) of the given packed move is at least the given threshold.
+     *
+     * <p>The flags of the packed move must match the flags returned by {@link #packMove(Move)}.
+     *
+     * @param move      The packed move, it is not checked for legality.
+     * @param threshold The threshold in centipawns.
+     * @return True if the SEE of the move is greater or equal to the threshold, false otherwise.
+     * @see #seeGreaterOrEqual(Move, int)
+     */
+    public boolean seeGreaterOrEqual(int move, int threshold) {
+        if (PackedMove.isCastling(move)) {
+            return threshold <= 0;
+        }
+
+        // the balance is what the side that captures next must win to change the result
+        int balance = seeCaptured(move) - threshold;
+        if (balance < 0) {
+            return false;
+        }
+        balance = seeAttacker(move) - balance;
+        if (balance <= 0) {
+            return true;
+        }
+
+        int target = PackedMove.getTarget(move);
+        long occupancy = seeOccupancy(move);
+        long attackers = seeAttackers(target, occupancy);
+
+        boolean result = true;
+        Color side = this.turn;
+        while (true) {
+            side = side.other();
+            long sideAttackers = attackers & this.occupiedColor[side.ordinal()];
+            if (sideAttackers == 0) {
+                break;
+            }
+
+            long next = leastValuableAttacker(sideAttackers);
+            long nextOccupancy = occupancy ^ next;
+            long nextAttackers = seeAttackers(target, nextOccupancy);
+            if ((next & this.kings) != 0 && (nextAttackers & this.occupiedColor[side.other().ordinal()]) != 0) {
+                break;
+            }
+
+            result = !result;
+            balance = SEE_VALUES[this.mailbox[BitboardUtils.lsb(next)]] - balance;
+            if (balance < (result ? 1 : 0)) {
+                break;
+            }
+            occupancy = nextOccupancy;
+            attackers = nextAttackers;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the occupied squares after the first move of an exchange.
+     *
+     * @param move The packed move.
+     * @return The occupied squares without the moved piece and without a pawn captured En Passant.
+     */
+    private long seeOccupancy(int move) {
+        long occupancy = this.occupied ^ SQUARES[PackedMove.getSource(move)];
+        if (PackedMove.isEnPassant(move)) {
+            occupancy ^= SQUARES[PackedMove.getTarget(move) - 8 * turn.forwardDirection()];
+        }
+        return occupancy;
+    }
+
+    /**
+     * Gets the material that the first move of an exchange wins, including the gain of a promotion.
+     *
+     * @param move The packed move.
+     * @return The value of the captured piece plus the gain of the promotion.
+     */
+    private int seeCaptured(int move) {
+        int captured = PackedMove.isEnPassant(move) ?
+                       SEE_VALUES[PieceType.PAWN.ordinal() + 1] :
+                       SEE_VALUES[this.mailbox[PackedMove.getTarget(move)]];
+        PieceType promotion = PackedMove.getPromotion(move);
+        if (promotion != null) {
+            captured += SEE_VALUES[promotion.ordinal() + 1] - SEE_VALUES[PieceType.PAWN.ordinal() + 1];
+        }
+        return captured;
+    }
+
+    /**
+     * Gets the value of the piece that stands on the target square after the first move of an exchange.
+     *
+     * @param move The packed move.
+     * @return The value of the moved piece, or of the promoted piece.
+     */
+    private int seeAttacker(int move) {
+        PieceType promotion = PackedMove.getPromotion(move);
+        return promotion != null ?
+               SEE_VALUES[promotion.ordinal() + 1] :
+               SEE_VALUES[this.mailbox[PackedMove.getSource(move)]];
+    }
+
+    /**
+     * Gets the attackers of both colors of the given square with the given occupancy.
+     *
+     * @param square    The index of the square.
+     * @param occupancy The occupied squares, pieces outside of it are ignored.
+     * @return A mask of all pieces in the occupancy that attack the square.
+     */
+    private long seeAttackers(int square, long occupancy) {
+        Square sq = Square.fromIndex(square);
+        return (attackersMask(Color.WHITE, sq, occupancy) | attackersMask(Color.BLACK, sq, occupancy)) & occupancy;
+    }
+
+    /**
+     * Gets the least valuable piece of the given attackers.
+     *
+     * @param attackers The mask of the attackers, not empty.
+     * @return A mask of the square of the least valuable attacker.
+     */
+    private long leastValuableAttacker(long attackers) {
+        long pieces = attackers & this.pawns;
+        if (pieces == 0) {
+            pieces = attackers & this.knights;
+        }
+        if (pieces == 0) {
+            pieces = attackers & this.bishops;
+        }
+        if (pieces == 0) {
+            pieces = attackers & this.rooks;
+        }
+        if (pieces == 0) {
+            pieces = attackers & this.queens;
+        }
+        if (pieces == 0) {
+            pieces = attackers & this.kings;
+        }
+        return pieces & -pieces;
+    }
+
+    /**
+     * Packs the given move with all flags that depend on the current position.
+     *
+     * <p>The move is not checked for legality.
+     *
+     * @param move The move.
+     * @return The packed move.
+     * @see PackedMove
+     */
+    public int packMove(Move move) {
+        int source = move.getSource().ordinal();
+        int target = move.getTarget().ordinal();
+        boolean capture = (SQUARES[target] & this.occupiedColor[turn.other().ordinal()]) != 0;
+
+        if (move.getPromotion() != null) {
+            return PackedMove.ofPromotion(source, target, move.getPromotion(), capture);
+        }
+        if (isCastling(move)) {
+            return PackedMove.of(source, target, target > source ? PackedMove.KING_CASTLE : PackedMove.QUEEN_CASTLE);
+        }
+        if (isEnPassant(move)) {
+            return PackedMove.of(source, target, PackedMove.EN_PASSANT);
+        }
+        if (capture) {
+            return PackedMove.of(source, target, PackedMove.CAPTURE);
+        }
+        if ((this.pawns & SQUARES[source]) != 0 && Math.abs(target - source) == 16) {
+            return PackedMove.of(source, target, PackedMove.DOUBLE_PAWN_PUSH);
+        }
+        return PackedMove.of(source, target);
+    }
+
     /**
      * Gets a string representing the given sequence of moves in standard algebraic notation (SAN).
      *
@@ -2033,36 +2947,20 @@ public class Board extends BaseBoard {
      * @return True if the player to move can claim a draw by threefold repetition, false otherwise.
      */
     public boolean canClaimThreefoldRepetition() {
-        int transpositionKey = this.hashCode();
-        Map<Integer, Integer> transpositions = new HashMap<>();
-        transpositions.put(transpositionKey, 1);
-
-        Deque<Move> switchyard = new ArrayDeque<>();
-        while (!this.moveStack.isEmpty()) {
-            Move move = this.pop();
-            switchyard.push(move);
-
-            if (isIrreversible(move)) {
-                break;
-            }
-
-            int nextTranspositionKey = this.hashCode();
-            transpositions.put(nextTranspositionKey, transpositions.getOrDefault(nextTranspositionKey, 0) + 1);
-        }
-
-        while (!switchyard.isEmpty()) {
-            this.push(switchyard.pop());
+        int start = repetitionStart();
+        if (countRepetitions(repetitionKey(), start) >= 3) {
+            return true;
         }
 
-        if (transpositions.get(transpositionKey) >= 3) {
-            return true;
+        // a move can only complete a threefold repetition of a position that already occurred twice
+        if (!hasRepeatedPosition(start)) {
+            return false;
         }
 
         for (Move move : generateLegalMoves()) {
             push(move);
             try {
-                int nextTranspositionKey = hashCode();
-                if (transpositions.getOrDefault(nextTranspositionKey, 0) >= 2) {
+                if (isRepetition(3)) {
                     return true;
                 }
             } finally {
@@ -2129,53 +3027,129 @@ public class Board extends BaseBoard {
      * @return True if the current position has repeated the given count of times, false otherwise.
      */
     public boolean isRepetition(int count) {
-        int maybeRepetitions = 1;
+        if (count <= 1) {
+            return true;
+        }
+        return countRepetitions(repetitionKey(), repetitionStart()) >= count;
+    }
 
-        for (BoardState state : this.stateStack) {
-            if (state.occupied == this.occupied) {
-                maybeRepetitions++;
+    /**
+     * Gets the ply of the oldest position in the undo stack that can be a repetition of the current position.
+     *
+     * <p>Positions before the last capture or pawn move can never occur again,
+     * so the half move clock limits the positions to look at.
+     *
+     * @return The ply of the oldest position to compare.
+     */
+    private int repetitionStart() {
+        int ply = this.undoStack.size();
+        return ply - Math.min(this.halfMoveClock, ply);
+    }
 
-                if (maybeRepetitions >= count) {
-                    break;
-                }
+    /**
+     * Counts the occurrences of a position key, from the current position back to the given ply.
+     *
+     * @param key   The key of the current position.
+     * @param start The ply of the oldest position to compare.
+     * @return The number of occurrences, including the current position.
+     */
+    private int countRepetitions(long key, int start) {
+        int count = 1;
+        for (int i = this.undoStack.size() - 1; i >= start; i--) {
+            if (this.undoStack.positionKey(i) == key) {
+                count++;
             }
         }
+        return count;
+    }
 
-        if (maybeRepetitions < count) {
-            return false;
-        }
-
-        int transpositionKey = this.hashCode();
-        Deque<Move> switchyard = new ArrayDeque<>();
-
-        try {
-            while (true) {
-                if (count <= 1) {
+    /**
+     * Checks if any position since the given ply occurred at least twice.
+     *
+     * @param start The ply of the oldest position to compare.
+     * @return True if a position occurred at least twice, false otherwise.
+     */
+    private boolean hasRepeatedPosition(int start) {
+        int ply = this.undoStack.size();
+        for (int i = start; i < ply; i++) {
+            for (int j = i + 1; j < ply; j++) {
+                if (this.undoStack.positionKey(i) == this.undoStack.positionKey(j)) {
                     return true;
                 }
+            }
+        }
+        return false;
+    }
 
-                if (this.moveStack.size() < count - 1) {
-                    break;
-                }
+    /**
+     * Gets the key of the current position for the detection of repetitions.
+     *
+     * <p>Like {@link #hashCode()}, the En Passant square only counts if En Passant is legal.
+     *
+     * @return The Zobrist key of the position, without En Passant if En Passant is not legal.
+     */
+    private long repetitionKey() {
+        long key = getZobristKey();
+        long epKey = enPassantKey();
+        if (epKey != 0 && !hasLegalEnPassant()) {
+            key ^= epKey;
+        }
+        return key;
+    }
 
-                Move move = this.pop();
-                switchyard.push(move);
+    /**
+     * Gets the Polyglot compatible Zobrist key of the current position.
+     *
+     * <p>The key of the piece placement is updated with every move and restored by {@link #pop()},
+     * castling rights, En Passant and turn are added in constant time. The result equals
+     * {@link de.stefanet.javachesskit.polyglot.Polyglot#zobristHash(Board)} with the default random array.
+     *
+     * @return The Zobrist key of the current position.
+     */
+    public long getZobristKey() {
+        long key = this.pieceKey;
 
-                if (isIrreversible(move)) {
-                    break;
-                }
+        long castling = cleanCastlingRights();
+        if ((castling & H1) != 0) {
+            key ^= Polyglot.POLYGLOT_RANDOM_ARRAY[768];
+        }
+        if ((castling & A1) != 0) {
+            key ^= Polyglot.POLYGLOT_RANDOM_ARRAY[769];
+        }
+        if ((castling & H8) != 0) {
+            key ^= Polyglot.POLYGLOT_RANDOM_ARRAY[770];
+        }
+        if ((castling & A8) != 0) {
+            key ^= Polyglot.POLYGLOT_RANDOM_ARRAY[771];
+        }
 
-                if (hashCode() == transpositionKey) {
-                    count--;
-                }
-            }
-        } finally {
-            while (!switchyard.isEmpty()) {
-                this.push(switchyard.pop());
-            }
+        key ^= enPassantKey();
+
+        if (this.turn == Color.WHITE) {
+            key ^= Polyglot.POLYGLOT_RANDOM_ARRAY[780];
         }
+        return key;
+    }
 
-        return false;
+    /**
+     * Gets the Polyglot key of the En Passant square.
+     *
+     * <p>Polyglot only hashes the En Passant square if a pawn of the player to move stands next to
+     * the pawn that made the double push, no matter if the capture is legal.
+     *
+     * @return The key of the En Passant file, or 0 if the En Passant square is not hashed.
+     */
+    private long enPassantKey() {
+        if (this.epSquare == null) {
+            return 0;
+        }
+        int pawnSquare = this.epSquare.ordinal() - 8 * turn.forwardDirection();
+        long pawn = SQUARES[pawnSquare];
+        long capturers = BitboardUtils.shiftLeft(pawn) | BitboardUtils.shiftRight(pawn);
+        if ((capturers & this.pawns & this.occupiedColor[turn.ordinal()]) == 0) {
+            return 0;
+        }
+        return Polyglot.POLYGLOT_RANDOM_ARRAY[772 + this.epSquare.getFileIndex()];
     }
 
     @Override
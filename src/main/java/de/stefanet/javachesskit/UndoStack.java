@@ -0,0 +1,145 @@
+package de.stefanet.javachesskit;
+
+import de.stefanet.javachesskit.core.Color;
+import de.stefanet.javachesskit.core.Square;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Preallocated stack of the board states that are needed to undo moves.
+ *
+ * <p>Each ply is stored as a fixed size record in one long array, so pushing and popping
+ * moves creates no objects. A record holds the bitboards, the Zobrist key of the piece placement,
+ * castling rights, En Passant square, turn and move counters, as well as the key of the position
+ * for the detection of repetitions. The mailbox of each ply is copied into a parallel byte array.
+ * The arrays only grow when the stack is deeper than ever before.
+ */
+final class UndoStack {
+    private static final int INITIAL_CAPACITY = 128;
+
+    private static final int PAWNS = 0;
+    private static final int KNIGHTS = 1;
+    private static final int BISHOPS = 2;
+    private static final int ROOKS = 3;
+    private static final int QUEENS = 4;
+    private static final int KINGS = 5;
+    private static final int WHITE = 6;
+    private static final int BLACK = 7;
+    private static final int OCCUPIED = 8;
+    private static final int PROMOTED = 9;
+    private static final int PIECE_KEY = 10;
+    private static final int CASTLING_RIGHTS = 11;
+    private static final int POSITION_KEY = 12;
+    private static final int COUNTERS = 13;
+    private static final int FLAGS = 14;
+    private static final int STRIDE = 16;
+
+    private long[] records;
+    private byte[] mailboxes;
+    private int size;
+
+    /**
+     * Creates an empty stack.
+     */
+    UndoStack() {
+        this.records = new long[INITIAL_CAPACITY * STRIDE];
+        this.mailboxes = new byte[INITIAL_CAPACITY * 64];
+    }
+
+    /**
+     * Saves the state of the board on top of the stack.
+     *
+     * @param board       The board before the move is made.
+     * @param positionKey The key of the position for the detection of repetitions.
+     */
+    void push(Board board, long positionKey) {
+        int offset = size * STRIDE;
+        if (offset == records.length) {
+            records = Arrays.copyOf(records, records.length * 2);
+            mailboxes = Arrays.copyOf(mailboxes, mailboxes.length * 2);
+        }
+        System.arraycopy(board.mailbox, 0, mailboxes, size * 64, 64);
+
+        long[] r = records;
+        r[offset + PAWNS] = board.pawns;
+        r[offset + KNIGHTS] = board.knights;
+        r[offset + BISHOPS] = board.bishops;
+        r[offset + ROOKS] = board.rooks;
+        r[offset + QUEENS] = board.queens;
+        r[offset + KINGS] = board.kings;
+        r[offset + WHITE] = board.occupiedColor[Color.WHITE.ordinal()];
+        r[offset + BLACK] = board.occupiedColor[Color.BLACK.ordinal()];
+        r[offset + OCCUPIED] = board.occupied;
+        r[offset + PROMOTED] = ((BaseBoard) board).promoted;
+        r[offset + PIECE_KEY] = board.pieceKey;
+        r[offset + CASTLING_RIGHTS] = board.castlingRights;
+        r[offset + POSITION_KEY] = positionKey;
+        r[offset + COUNTERS] = (long) board.fullMoveNumber << 32 | board.halfMoveClock & 0xFFFFFFFFL;
+        r[offset + FLAGS] = (board.epSquare == null ? 0 : board.epSquare.ordinal() + 1) << 1 | board.turn.ordinal();
+        size++;
+    }
+
+    /**
+     * Removes the top of the stack and restores its state on the board.
+     *
+     * @param board The board to restore.
+     * @throws NoSuchElementException If the stack is empty.
+     */
+    void pop(Board board) {
+        if (size == 0) {
+            throw new NoSuchElementException("Undo stack is empty");
+        }
+        size--;
+
+        int offset = size * STRIDE;
+        long[] r = records;
+        board.pawns = r[offset + PAWNS];
+        board.knights = r[offset + KNIGHTS];
+        board.bishops = r[offset + BISHOPS];
+        board.rooks = r[offset + ROOKS];
+        board.queens = r[offset + QUEENS];
+        board.kings = r[offset + KINGS];
+        board.occupiedColor[Color.WHITE.ordinal()] = r[offset + WHITE];
+        board.occupiedColor[Color.BLACK.ordinal()] = r[offset + BLACK];
+        board.occupied = r[offset + OCCUPIED];
+        ((BaseBoard) board).promoted = r[offset + PROMOTED];
+        board.pieceKey = r[offset + PIECE_KEY];
+        board.castlingRights = r[offset + CASTLING_RIGHTS];
+        System.arraycopy(mailboxes, size * 64, board.mailbox, 0, 64);
+
+        long counters = r[offset + COUNTERS];
+        board.fullMoveNumber = (int) (counters >>> 32);
+        board.halfMoveClock = (int) counters;
+
+        int flags = (int) r[offset + FLAGS];
+        int epSquare = flags >>> 1;
+        board.epSquare = epSquare == 0 ? null : Square.fromIndex(epSquare - 1);
+        board.turn = Color.fromIndex(flags & 1);
+    }
+
+    /**
+     * Gets the key of the position that was saved at the given ply.
+     *
+     * @param ply The index of the record, 0 is the bottom of the stack.
+     * @return The key of the position for the detection of repetitions.
+     */
+    long positionKey(int ply) {
+        return records[ply * STRIDE + POSITION_KEY];
+    }
+
+    /**
+     * Gets the number of saved states.
+     *
+     * @return The size of the stack.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all states from the stack. The capacity is kept.
+     */
+    void clear() {
+        size = 0;
+    }
+}
@@ -4,10 +4,11 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Represents an attack table used for move generation.
+ * Represents an attack table mapping each relevant occupancy of a square to the attacked squares.
  *
  * <p>An attack table is a precomputed table used for generating piece attacks.
- * It is used to speed up move generation by avoiding the need to calculate attacks on the fly.
+ * Move generation uses the array based lookup of {@link SliderAttacks},
+ * this map based table serves as a simple reference implementation.
  */
 public class AttackTable {
     private final long[] maskTable;
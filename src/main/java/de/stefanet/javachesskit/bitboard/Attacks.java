@@ -1,9 +1,8 @@
 package de.stefanet.javachesskit.bitboard;
 
-import static de.stefanet.javachesskit.bitboard.Bitboard.DIAGONAL_ATTACKS;
 import static de.stefanet.javachesskit.bitboard.Bitboard.EMPTY;
-import static de.stefanet.javachesskit.bitboard.Bitboard.FILE_ATTACKS;
-import static de.stefanet.javachesskit.bitboard.Bitboard.RANK_ATTACKS;
+import static de.stefanet.javachesskit.bitboard.Bitboard.FILES;
+import static de.stefanet.javachesskit.bitboard.Bitboard.RANKS;
 import static de.stefanet.javachesskit.bitboard.Bitboard.SQUARES;
 
 import de.stefanet.javachesskit.core.Square;
@@ -109,27 +108,46 @@ public final class Attacks {
         return result;
     }
 
+    /**
+     * Generates the relevant occupancy masks of a sliding piece for the given deltas.
+     *
+     * <p>The mask of a square contains all squares on the rays of the piece except the board edges,
+     * since a blocker on the last square of a ray does not change the attacks.
+     *
+     * @param deltas the deltas to use for generating the masks
+     * @return the generated mask table
+     */
+    public static long[] maskTable(int... deltas) {
+        long[] maskTable = new long[64];
+
+        for (Square square : Square.values()) {
+            maskTable[square.ordinal()] = Attacks.slidingAttacks(square, 0, deltas) & ~edges(square);
+        }
+
+        return maskTable;
+    }
+
     /**
      * Generates an attack table for the given deltas.
      *
+     * <p>The table maps every subset of the relevant occupancy to the attacked squares.
+     * Move generation uses {@link SliderAttacks} instead, this table serves as a reference implementation.
+     *
      * @param deltas the deltas to use for generating the attack table
      * @return the generated attack table
      */
-
     public static AttackTable attackTable(int... deltas) {
-        long[] maskTable = new long[64];
+        long[] maskTable = maskTable(deltas);
         List<Map<Long, Long>> attackTable = new ArrayList<>();
 
         for (Square square : Square.values()) {
             Map<Long, Long> squareAttacks = new HashMap<>();
-            long mask = Attacks.slidingAttacks(square, 0, deltas) & ~edges(square);
 
-            for (long subset : carryRippler(mask)) {
+            for (long subset : carryRippler(maskTable[square.ordinal()])) {
                 squareAttacks.put(subset, Attacks.slidingAttacks(square, subset, deltas));
             }
 
             attackTable.add(squareAttacks);
-            maskTable[square.ordinal()] = mask;
         }
 
         return new AttackTable(maskTable, attackTable);
@@ -151,15 +169,17 @@ public final class Attacks {
         for (int a = 0; a < SQUARES.length; a++) {
             long[] raysRow = new long[64];
 
+            long diagonal = SliderAttacks.bishopAttacks(a, EMPTY);
+            long rank = SliderAttacks.rookAttacks(a, EMPTY) & RANKS[a >> 3];
+            long file = SliderAttacks.rookAttacks(a, EMPTY) & FILES[a & 7];
+
             for (int b = 0; b < SQUARES.length; b++) {
-                if ((DIAGONAL_ATTACKS.get(a).get(0L) & SQUARES[b]) != EMPTY) {
-                    raysRow[b] = (DIAGONAL_ATTACKS.get(a).get(0L) & DIAGONAL_ATTACKS.get(b).get(0L)) |
-                                 SQUARES[a] |
-                                 SQUARES[b];
-                } else if ((RANK_ATTACKS.get(a).get(0L) & SQUARES[b]) != EMPTY) {
-                    raysRow[b] = RANK_ATTACKS.get(a).get(0L) | SQUARES[a];
-                } else if ((FILE_ATTACKS.get(a).get(0L) & SQUARES[b]) != EMPTY) {
-                    raysRow[b] = FILE_ATTACKS.get(a).get(0L) | SQUARES[a];
+                if ((diagonal & SQUARES[b]) != EMPTY) {
+                    raysRow[b] = (diagonal & SliderAttacks.bishopAttacks(b, EMPTY)) | SQUARES[a] | SQUARES[b];
+                } else if ((rank & SQUARES[b]) != EMPTY) {
+                    raysRow[b] = rank | SQUARES[a];
+                } else if ((file & SQUARES[b]) != EMPTY) {
+                    raysRow[b] = file | SQUARES[a];
                 } else {
                     raysRow[b] = EMPTY;
                 }
@@ -16,9 +16,6 @@ import static de.stefanet.javachesskit.bitboard.Bitboard.Ranks.RANK_7;
 import static de.stefanet.javachesskit.bitboard.Bitboard.Ranks.RANK_8;
 import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.*;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * Class containing bitboard constants for squares, rank and files.
  */
@@ -55,13 +52,9 @@ public final class Bitboard {
     public static final long[] KING_ATTACKS = Attacks.generateKingAttacks();
     public static final long[][] PAWN_ATTACKS = Attacks.generatePawnAttacks();
 
-    public static final long[] DIAGONAL_MASKS = Attacks.attackTable(-9, -7, 7, 9).getMaskTable();
-    public static final List<Map<Long, Long>> DIAGONAL_ATTACKS = Attacks.attackTable(-9, -7, 7, 9).getAttackTable();
-    public static final long[] FILE_MASKS = Attacks.attackTable(-8, 8).getMaskTable();
-    public static final List<Map<Long, Long>> FILE_ATTACKS = Attacks.attackTable(-8, 8).getAttackTable();
-
-    public static final long[] RANK_MASKS = Attacks.attackTable(-1, 1).getMaskTable();
-    public static final List<Map<Long, Long>> RANK_ATTACKS = Attacks.attackTable(-1, 1).getAttackTable();
+    public static final long[] DIAGONAL_MASKS = Attacks.maskTable(-9, -7, 7, 9);
+    public static final long[] FILE_MASKS = Attacks.maskTable(-8, 8);
+    public static final long[] RANK_MASKS = Attacks.maskTable(-1, 1);
     public static final long[][] RAYS = Attacks.rays();
 
     /**
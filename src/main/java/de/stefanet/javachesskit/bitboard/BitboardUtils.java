@@ -3,6 +3,8 @@ package de.stefanet.javachesskit.bitboard;
 import static de.stefanet.javachesskit.bitboard.Bitboard.ALL;
 import static de.stefanet.javachesskit.bitboard.Bitboard.RAYS;
 
+import java.util.function.IntConsumer;
+
 /**
  * Utility class for bitboards.
  */
@@ -31,6 +33,39 @@ public final class BitboardUtils {
         return 63 - Long.numberOfLeadingZeros(bb);
     }
 
+    /**
+     * Clears the least significant one-bit of the given bitboard.
+     *
+     * <p>Together with {@link #lsb(long)} this allows iterating over the squares of a bitboard
+     * without allocating an index array:
+     * <pre>{@code
+     * for (long bb = mask; bb != 0; bb = BitboardUtils.clearLsb(bb)) {
+     *     int square = BitboardUtils.lsb(bb);
+     *     ...
+     * }
+     * }</pre>
+     *
+     * @param bb The bitboard.
+     * @return The bitboard without its least significant one-bit.
+     */
+    public static long clearLsb(long bb) {
+        return bb & (bb - 1);
+    }
+
+    /**
+     * Performs the given action for the index of each one-bit in the given bitboard.
+     *
+     * <p>The indices are visited from least significant to most significant.
+     *
+     * @param bb     The bitboard.
+     * @param action The action to perform for each index.
+     */
+    public static void forEachSquare(long bb, IntConsumer action) {
+        for (; bb != 0; bb &= bb - 1) {
+            action.accept(Long.numberOfTrailingZeros(bb));
+        }
+    }
+
     /**
      * Returns an array of indices of the one-bits in the given bitboard.
      *
@@ -43,11 +78,9 @@ public final class BitboardUtils {
         int count = Long.bitCount(bb);
         int[] indices = new int[count];
 
-        int index = 0;
-        for (int i = 0; i <= 63 && index < count; i++) {
-            if (((bb >> i) & 1) == 1) {
-                indices[index++] = i;
-            }
+        for (int index = 0; index < count; index++) {
+            indices[index] = lsb(bb);
+            bb = clearLsb(bb);
         }
 
         return indices;
@@ -65,11 +98,10 @@ public final class BitboardUtils {
         int count = Long.bitCount(bb);
         int[] indices = new int[count];
 
-        int index = 0;
-        for (int i = 63; i >= 0 && index < count; i--) {
-            if (((bb >> i) & 1) == 1) {
-                indices[index++] = i;
-            }
+        for (int index = 0; index < count; index++) {
+            int square = msb(bb);
+            indices[index] = square;
+            bb ^= 1L << square;
         }
 
         return indices;
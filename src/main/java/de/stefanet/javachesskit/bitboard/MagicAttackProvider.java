@@ -0,0 +1,118 @@
+package de.stefanet.javachesskit.bitboard;
+
+/**
+ * Slider attacks based on plain magic bitboards with a fixed shift.
+ *
+ * <p>For every square the relevant occupancy, i.e. the blockers on the rays of the piece without the board edges,
+ * is multiplied by a precomputed magic number. The upper bits of the product are a perfect hash of the occupancy
+ * and are used as index into a flat attack table.
+ * All squares use the same shift, 12 bits for rooks and 9 bits for bishops.
+ * This keeps the index calculation simple, but the tables need about 2.3 MB.
+ *
+ * @see <a href="https://www.chessprogramming.org/Magic_Bitboards">Magic Bitboards</a>
+ */
+public class MagicAttackProvider implements SliderAttackProvider {
+    private static final int ROOK_BITS = 12;
+    private static final int BISHOP_BITS = 9;
+
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x0408080040206400L, 0x1200020044042009L,
+            0x0200042008100200L, 0x0480088004002600L, 0x20801100D8080882L, 0x030004420A218100L,
+            0x12A0800040008020L, 0x8208404000200010L, 0x0200500020040130L, 0x1108200810224C80L,
+            0x9030008841000810L, 0x0422800214028008L, 0x0840300100004081L, 0x4220081200C20023L,
+            0x4080000821104000L, 0x0121A10408824002L, 0x0001060010205600L, 0x0010600204091040L,
+            0x0100220016000402L, 0x0800408004020041L, 0x00051004B2100810L, 0x00122840008015A1L,
+            0x2800C80090001002L, 0x0A48916020003814L, 0x1404388239040004L, 0x04A0500200060010L,
+            0x8000100118000840L, 0x001C00240048D002L, 0x0042000080420100L, 0x0000010028009046L,
+            0x2140401298080040L, 0x08000C20C0400241L, 0x008220810010C940L, 0x28100012001C1808L,
+            0x0400880004034016L, 0x0940042801440008L, 0x0000006116043100L, 0x5000048005006002L,
+            0x1281412110200800L, 0x0008830024010042L, 0x2000042400801200L, 0x8220400402442080L,
+            0x2200022001401400L, 0x0002001580081010L, 0x00405102804004E2L, 0x0430004C10220001L,
+            0x0100100800A30210L, 0x4000200140025410L, 0x1021000884410008L, 0x04000800043A2008L,
+            0x0128000900840050L, 0x0000104008020088L, 0x4400010002028288L, 0x80020080013A0040L,
+            0x000A20C100108001L, 0x2000202900409112L, 0x0420000502441209L, 0x0002081200204002L,
+            0x1000100A22001582L, 0x8001815001820006L, 0x98801290500800A4L, 0x6090040021004882L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x0C11011208004003L, 0x0810150E1804C020L, 0x008C0014000C0100L, 0x10020A0104101110L,
+            0x004E04A203040020L, 0x04048921A0860600L, 0x2440101500214C54L, 0x000C030410240200L,
+            0x0080028042009680L, 0x008220044042800CL, 0x8000212204005104L, 0x0810222020202080L,
+            0x0020208228023808L, 0x8208122402044000L, 0x0004002012101000L, 0x000140132500804CL,
+            0x0684142000708012L, 0x0024808021001020L, 0x000424004102020CL, 0x0604801028820000L,
+            0x2022000420040040L, 0x0400400080504000L, 0x4014480032001000L, 0x0020240017010011L,
+            0x000A202008200041L, 0x4018020000202065L, 0x0008224800910044L, 0x0140040006020908L,
+            0x80A002002B010880L, 0x4004048203008080L, 0x0148001CA2004102L, 0x000090900034C108L,
+            0x00008048E40C0020L, 0x0000820108200C20L, 0x0242010A01090A01L, 0x4102220280080080L,
+            0x0944040400031010L, 0x1021020480800808L, 0x8402206520408040L, 0x00080021C000080AL,
+            0x200011507808A021L, 0x0802805006001480L, 0x1001002080400480L, 0x0002002008000020L,
+            0x003016020C000032L, 0x8008300086810208L, 0x0010100160400884L, 0x0003141080441A08L,
+            0x1240128800450250L, 0x4640818290008104L, 0x8421008E0A548004L, 0x0060232042002006L,
+            0x1020020310048000L, 0x0001080208004C00L, 0x0010029090104058L, 0x0080C20421420021L,
+            0x5000110048200102L, 0x006A004008201106L, 0x0090860806080C70L, 0x818000100C060200L,
+            0x50000000008A1204L, 0x5000001020880041L, 0x8120101148804180L, 0x0820040400440021L
+    };
+
+    private final long[] rookMasks = new long[64];
+    private final long[] bishopMasks = new long[64];
+
+    private final long[] rookAttacks = new long[64 << ROOK_BITS];
+    private final long[] bishopAttacks = new long[64 << BISHOP_BITS];
+
+    /**
+     * Creates the provider and fills the attack tables.
+     */
+    public MagicAttackProvider() {
+        for (int square = 0; square < 64; square++) {
+            rookMasks[square] = SlidingRays.relevantOccupancy(square, SlidingRays.ROOK_DIRECTIONS);
+            bishopMasks[square] = SlidingRays.relevantOccupancy(square, SlidingRays.BISHOP_DIRECTIONS);
+
+            fillTable(rookAttacks, square, rookMasks[square], ROOK_MAGICS[square], ROOK_BITS,
+                      SlidingRays.ROOK_DIRECTIONS);
+            fillTable(bishopAttacks, square, bishopMasks[square], BISHOP_MAGICS[square], BISHOP_BITS,
+                      SlidingRays.BISHOP_DIRECTIONS);
+        }
+    }
+
+    @Override
+    public long rookAttacks(int square, long occupied) {
+        int index = (int) (((occupied & rookMasks[square]) * ROOK_MAGICS[square]) >>> (64 - ROOK_BITS));
+        return rookAttacks[(square << ROOK_BITS) | index];
+    }
+
+    @Override
+    public long bishopAttacks(int square, long occupied) {
+        int index = (int) (((occupied & bishopMasks[square]) * BISHOP_MAGICS[square]) >>> (64 - BISHOP_BITS));
+        return bishopAttacks[(square << BISHOP_BITS) | index];
+    }
+
+    @Override
+    public String getName() {
+        return "magic";
+    }
+
+    @Override
+    public long getTableSize() {
+        return 8L * (rookAttacks.length + bishopAttacks.length + ROOK_MAGICS.length + BISHOP_MAGICS.length +
+                     rookMasks.length + bishopMasks.length);
+    }
+
+    /**
+     * Fills the attack table of one square by enumerating all subsets of the relevant occupancy.
+     *
+     * @param table      The attack table.
+     * @param square     The index of the square.
+     * @param mask       The relevant occupancy of the square.
+     * @param magic      The magic number of the square.
+     * @param bits       The number of index bits per square.
+     * @param directions The directions of the sliding piece as rank and file steps.
+     */
+    private static void fillTable(long[] table, int square, long mask, long magic, int bits, int[][] directions) {
+        long subset = 0;
+        do {
+            int index = (int) ((subset * magic) >>> (64 - bits));
+            table[(square << bits) | index] = SlidingRays.slidingAttacks(square, subset, directions);
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+    }
+}
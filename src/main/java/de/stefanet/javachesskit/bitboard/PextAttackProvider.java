@@ -0,0 +1,83 @@
+package de.stefanet.javachesskit.bitboard;
+
+/**
+ * Slider attacks indexed by a software implementation of the PEXT bit extraction.
+ *
+ * <p>The bits of the occupancy selected by the relevant occupancy mask are packed into a dense index,
+ * so no magic numbers are needed and the table layout is the same as for {@link FancyMagicAttackProvider}.
+ * The extraction loops over the bits of the mask, which makes a lookup slower than a magic multiplication,
+ * but the provider has the smallest memory footprint.
+ *
+ * @see <a href="https://www.chessprogramming.org/BMI2#PEXTBitboards">PEXT Bitboards</a>
+ */
+public class PextAttackProvider implements SliderAttackProvider {
+    private final long[] rookMasks = new long[64];
+    private final long[] bishopMasks = new long[64];
+
+    private final int[] rookOffsets = new int[64];
+    private final int[] bishopOffsets = new int[64];
+
+    private final long[] attacks;
+
+    /**
+     * Creates the provider and fills the shared attack table.
+     */
+    public PextAttackProvider() {
+        int size = 0;
+        for (int square = 0; square < 64; square++) {
+            rookMasks[square] = SlidingRays.relevantOccupancy(square, SlidingRays.ROOK_DIRECTIONS);
+            rookOffsets[square] = size;
+            size += 1 << Long.bitCount(rookMasks[square]);
+        }
+        for (int square = 0; square < 64; square++) {
+            bishopMasks[square] = SlidingRays.relevantOccupancy(square, SlidingRays.BISHOP_DIRECTIONS);
+            bishopOffsets[square] = size;
+            size += 1 << Long.bitCount(bishopMasks[square]);
+        }
+
+        this.attacks = new long[size];
+
+        for (int square = 0; square < 64; square++) {
+            fillTable(square, rookMasks[square], rookOffsets[square], SlidingRays.ROOK_DIRECTIONS);
+            fillTable(square, bishopMasks[square], bishopOffsets[square], SlidingRays.BISHOP_DIRECTIONS);
+        }
+    }
+
+    @Override
+    public long rookAttacks(int square, long occupied) {
+        return attacks[rookOffsets[square] + SlidingRays.extractBits(occupied, rookMasks[square])];
+    }
+
+    @Override
+    public long bishopAttacks(int square, long occupied) {
+        return attacks[bishopOffsets[square] + SlidingRays.extractBits(occupied, bishopMasks[square])];
+    }
+
+    @Override
+    public String getName() {
+        return "pext";
+    }
+
+    @Override
+    public long getTableSize() {
+        return 8L * (attacks.length + rookMasks.length + bishopMasks.length) +
+               4L * (rookOffsets.length + bishopOffsets.length);
+    }
+
+    /**
+     * Fills the slice of one square in the shared table by enumerating all subsets of the relevant occupancy.
+     *
+     * @param square     The index of the square.
+     * @param mask       The relevant occupancy of the square.
+     * @param offset     The offset of the slice in the shared table.
+     * @param directions The directions of the sliding piece as rank and file steps.
+     */
+    private void fillTable(int square, long mask, int offset, int[][] directions) {
+        long subset = 0;
+        do {
+            attacks[offset + SlidingRays.extractBits(subset, mask)] =
+                    SlidingRays.slidingAttacks(square, subset, directions);
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+    }
+}
@@ -0,0 +1,48 @@
+package de.stefanet.javachesskit.bitboard;
+
+/**
+ * Lookup of attacks for sliding pieces.
+ *
+ * <p>Implementations differ in the layout of their tables and in the way the index is calculated,
+ * which trades memory footprint against the cost of a lookup.
+ * The provider used by {@link SliderAttacks} is selected with the system property
+ * {@value SliderAttacks#PROVIDER_PROPERTY}.
+ *
+ * @see MagicAttackProvider
+ * @see FancyMagicAttackProvider
+ * @see PextAttackProvider
+ */
+public interface SliderAttackProvider {
+
+    /**
+     * Returns the squares attacked by a rook on the given square.
+     *
+     * @param square   The index of the square.
+     * @param occupied The bitboard of the occupied squares.
+     * @return The bitboard of the attacked squares, including the first blocker on each ray.
+     */
+    long rookAttacks(int square, long occupied);
+
+    /**
+     * Returns the squares attacked by a bishop on the given square.
+     *
+     * @param square   The index of the square.
+     * @param occupied The bitboard of the occupied squares.
+     * @return The bitboard of the attacked squares, including the first blocker on each ray.
+     */
+    long bishopAttacks(int square, long occupied);
+
+    /**
+     * Returns the name of the provider as used in the system property.
+     *
+     * @return The name of the provider.
+     */
+    String getName();
+
+    /**
+     * Returns the size of all lookup tables of the provider.
+     *
+     * @return The size of the lookup tables in bytes.
+     */
+    long getTableSize();
+}
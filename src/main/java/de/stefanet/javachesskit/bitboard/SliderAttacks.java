@@ -0,0 +1,87 @@
+package de.stefanet.javachesskit.bitboard;
+
+/**
+ * Attack lookup for sliding pieces.
+ *
+ * <p>The lookup is delegated to a {@link SliderAttackProvider}, which is selected once
+ * with the system property {@value #PROVIDER_PROPERTY}:
+ * <ul>
+ *     <li>{@code magic} (default): {@link MagicAttackProvider}</li>
+ *     <li>{@code fancy}: {@link FancyMagicAttackProvider}</li>
+ *     <li>{@code pext}: {@link PextAttackProvider}</li>
+ * </ul>
+ */
+public final class SliderAttacks {
+    /**
+     * The system property selecting the slider attack provider.
+     */
+    public static final String PROVIDER_PROPERTY = "javachesskit.sliderAttacks";
+
+    private static final SliderAttackProvider PROVIDER =
+            createProvider(System.getProperty(PROVIDER_PROPERTY, "magic"));
+
+    private SliderAttacks() {
+    }
+
+    /**
+     * Creates a new slider attack provider by name.
+     *
+     * @param name The name of the provider, either "magic", "fancy" or "pext".
+     * @return The created provider.
+     * @throws IllegalArgumentException if there is no provider with the given name.
+     */
+    public static SliderAttackProvider createProvider(String name) {
+        switch (name) {
+            case "magic":
+                return new MagicAttackProvider();
+            case "fancy":
+                return new FancyMagicAttackProvider();
+            case "pext":
+                return new PextAttackProvider();
+            default:
+                throw new IllegalArgumentException("No slider attack provider with name " + name);
+        }
+    }
+
+    /**
+     * Gets the provider used for the attack lookups.
+     *
+     * @return The slider attack provider.
+     */
+    public static SliderAttackProvider getProvider() {
+        return PROVIDER;
+    }
+
+    /**
+     * Returns the squares attacked by a rook on the given square.
+     *
+     * @param square   The index of the square.
+     * @param occupied The bitboard of the occupied squares.
+     * @return The bitboard of the attacked squares, including the first blocker on each ray.
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return PROVIDER.rookAttacks(square, occupied);
+    }
+
+    /**
+     * Returns the squares attacked by a bishop on the given square.
+     *
+     * @param square   The index of the square.
+     * @param occupied The bitboard of the occupied squares.
+     * @return The bitboard of the attacked squares, including the first blocker on each ray.
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return PROVIDER.bishopAttacks(square, occupied);
+    }
+
+    /**
+     * Returns the squares attacked by a queen on the given square.
+     *
+     * @param square   The index of the square.
+     * @param occupied The bitboard of the occupied squares.
+     * @return The bitboard of the attacked squares, including the first blocker on each ray.
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return PROVIDER.rookAttacks(square, occupied) | PROVIDER.bishopAttacks(square, occupied);
+    }
+}
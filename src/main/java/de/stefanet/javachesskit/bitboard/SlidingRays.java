@@ -0,0 +1,105 @@
+package de.stefanet.javachesskit.bitboard;
+
+/**
+ * Ray walking helpers used to initialize the slider attack tables.
+ *
+ * <p>The helpers work on plain square indices and do not depend on {@link Bitboard},
+ * so the attack tables can be built while the bitboard constants are still being initialized.
+ */
+final class SlidingRays {
+    static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private SlidingRays() {
+    }
+
+    /**
+     * Generates the relevant occupancy of a square, i.e. all squares on the rays except the last one.
+     *
+     * @param square     The index of the square.
+     * @param directions The directions of the sliding piece as rank and file steps.
+     * @return The bitboard of the relevant occupancy.
+     */
+    static long relevantOccupancy(int square, int[][] directions) {
+        long mask = 0;
+
+        for (int[] direction : directions) {
+            int rank = (square >> 3) + direction[0];
+            int file = (square & 7) + direction[1];
+
+            while (onBoard(rank + direction[0], file + direction[1])) {
+                mask |= 1L << (rank * 8 + file);
+                rank += direction[0];
+                file += direction[1];
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Generates the attacks of a sliding piece by walking along its rays.
+     *
+     * @param square     The index of the square.
+     * @param occupied   The bitboard of the occupied squares.
+     * @param directions The directions of the sliding piece as rank and file steps.
+     * @return The bitboard of the attacked squares.
+     */
+    static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0;
+
+        for (int[] direction : directions) {
+            int rank = (square >> 3) + direction[0];
+            int file = (square & 7) + direction[1];
+
+            while (onBoard(rank, file)) {
+                long bit = 1L << (rank * 8 + file);
+                attacks |= bit;
+
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+
+                rank += direction[0];
+                file += direction[1];
+            }
+        }
+
+        return attacks;
+    }
+
+    /**
+     * Extracts the bits of the given value selected by the mask and packs them into the low bits.
+     *
+     * <p>This is a software version of the PEXT instruction of the BMI2 instruction set.
+     *
+     * @param value The value to extract the bits from.
+     * @param mask  The mask selecting the bits.
+     * @return The extracted bits, packed into the low bits of the result.
+     */
+    static int extractBits(long value, long mask) {
+        int result = 0;
+        int bit = 1;
+
+        while (mask != 0) {
+            if ((value & mask & -mask) != 0) {
+                result |= bit;
+            }
+            mask &= mask - 1;
+            bit <<= 1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if the given rank and file index are on the board.
+     *
+     * @param rank The rank index.
+     * @param file The file index.
+     * @return True if both indices are between 0 and 7, false otherwise.
+     */
+    private static boolean onBoard(int rank, int file) {
+        return rank >= 0 && rank < 8 && file >= 0 && file < 8;
+    }
+}
@@ -15,6 +15,8 @@ public enum Color {
      */
     BLACK;
 
+    private static final Color[] VALUES = values();
+
     /**
      * Gets the color from the symbol.
      *
@@ -32,6 +34,16 @@ public enum Color {
         }
     }
 
+    /**
+     * Gets the color by index.
+     *
+     * @param index The ordinal of the color, 0 for WHITE and 1 for BLACK.
+     * @return The color with the given index.
+     */
+    public static Color fromIndex(int index) {
+        return VALUES[index];
+    }
+
     /**
      * Gets the color from a boolean value.
      *
@@ -70,7 +82,7 @@ public enum Color {
      * @return The full color name.
      */
     public String fullName() {
-        return name().toLowerCase();
+        return this == WHITE ? "white" : "black";
     }
 
     /**
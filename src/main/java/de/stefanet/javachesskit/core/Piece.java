@@ -13,6 +13,7 @@ public class Piece {
     private final Color color;
 
     private static final Map<Character, Character> UNICODE_PIECE_SYMBOLS = new HashMap<>();
+    private static final Piece[] PIECES = new Piece[12];
 
     static {
         UNICODE_PIECE_SYMBOLS.put('p', '♟');
@@ -27,6 +28,12 @@ public class Piece {
         UNICODE_PIECE_SYMBOLS.put('R', '♖');
         UNICODE_PIECE_SYMBOLS.put('Q', '♕');
         UNICODE_PIECE_SYMBOLS.put('K', '♔');
+
+        for (PieceType type : PieceType.values()) {
+            for (Color color : Color.values()) {
+                PIECES[index(type, color)] = new Piece(type, color);
+            }
+        }
     }
 
     /**
@@ -59,14 +66,38 @@ public class Piece {
     }
 
     /**
-     * Creates a Piece from the given type and color.
+     * Gets the Piece of the given type and color.
+     *
+     * <p>There is only one shared instance for each of the 12 pieces.
      *
      * @param type  The {@link PieceType} of the piece.
      * @param color The {@link Color} of the piece.
-     * @return A Piece object with the specified type and color.
+     * @return The Piece with the specified type and color.
      */
     public static Piece fromTypeAndColor(PieceType type, Color color) {
-        return new Piece(type, color);
+        return PIECES[index(type, color)];
+    }
+
+    /**
+     * Gets the Piece of the given symbol.
+     * An uppercase symbol is used for the white pieces, a lowercase symbol for the black pieces.
+     *
+     * <p>Unlike {@link #Piece(char)} this returns the shared instance of the piece.
+     *
+     * @param symbol The symbol representing the piece.
+     * @return The Piece with the given symbol.
+     * @throws IllegalArgumentException If the symbol is invalid.
+     */
+    public static Piece fromSymbol(char symbol) {
+        if ("pnbrkqPNBRKQ".indexOf(symbol) == -1) {
+            throw new IllegalArgumentException("Invalid piece symbol: " + symbol);
+        }
+        Color color = Character.isUpperCase(symbol) ? Color.WHITE : Color.BLACK;
+        return fromTypeAndColor(PieceType.fromSymbol(symbol), color);
+    }
+
+    private static int index(PieceType type, Color color) {
+        return type.ordinal() * 2 + color.ordinal();
     }
 
     /**
@@ -1,6 +1,7 @@
 package de.stefanet.javachesskit.core;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,6 +12,10 @@ import java.util.List;
 public enum PieceType {
     PAWN('p'), KNIGHT('n'), BISHOP('b'), ROOK('r'), QUEEN('q'), KING('k');
 
+    private static final PieceType[] VALUES = values();
+    private static final List<PieceType> PROMOTION_TYPES =
+            Collections.unmodifiableList(Arrays.asList(ROOK, KNIGHT, BISHOP, QUEEN));
+
     private final char symbol;
 
     /**
@@ -22,6 +27,16 @@ public enum PieceType {
         this.symbol = symbol;
     }
 
+    /**
+     * Gets the piece type by index.
+     *
+     * @param index The ordinal of the piece type, from 0 for PAWN to 5 for KING.
+     * @return The piece type with the given index.
+     */
+    public static PieceType fromIndex(int index) {
+        return VALUES[index];
+    }
+
     /**
      * Returns the PieceType corresponding to the given symbol.
      *
@@ -60,10 +75,10 @@ public enum PieceType {
      *     <li>Queen</li>
      * </ul>
      *
-     * @return A list containing piece types available for promotion.
+     * @return An unmodifiable list containing piece types available for promotion.
      */
     public static List<PieceType> promotionTypes() {
-        return Arrays.asList(ROOK, KNIGHT, BISHOP, QUEEN);
+        return PROMOTION_TYPES;
     }
 
     /**
@@ -15,13 +15,21 @@ public enum Square {
     A7, B7, C7, D7, E7, F7, G7, H7,
     A8, B8, C8, D8, E8, F8, G8, H8;
 
+    private static final Square[] VALUES = values();
+
+    private final String lowerCaseName;
+
+    Square() {
+        this.lowerCaseName = name().toLowerCase();
+    }
+
     /**
      * Gets the name of the square in lowercase.
      *
      * @return The name of the square in lowercase.
      */
     public String getName() {
-        return name().toLowerCase();
+        return lowerCaseName;
     }
 
     /**
@@ -30,7 +38,7 @@ public enum Square {
      * @return The file of the square.
      */
     public char getFile() {
-        return this.name().toLowerCase().charAt(0);
+        return (char) ('a' + getFileIndex());
     }
 
     /**
@@ -39,7 +47,7 @@ public enum Square {
      * @return The rank of the square.
      */
     public int getRank() {
-        return Character.getNumericValue(this.name().charAt(1));
+        return getRankIndex() + 1;
     }
 
     /**
@@ -111,7 +119,7 @@ public enum Square {
      * @return The square that is mirrored vertically.
      */
     public Square mirrorVertically() {
-        return values()[this.ordinal() ^ 56];
+        return VALUES[this.ordinal() ^ 56];
     }
 
     /**
@@ -120,7 +128,7 @@ public enum Square {
      * @return The square that is mirrored horizontally.
      */
     public Square mirrorHorizontally() {
-        return values()[this.ordinal() ^ 7];
+        return VALUES[this.ordinal() ^ 7];
     }
 
     /**
@@ -130,7 +138,7 @@ public enum Square {
      * @return The square with the given index.
      */
     public static Square fromIndex(int index) {
-        return values()[index];
+        return VALUES[index];
     }
 
     /**
@@ -178,7 +186,7 @@ public enum Square {
         if (fileIndex < 0 || fileIndex > 7 || rankIndex < 0 || rankIndex > 7) {
             throw new IllegalArgumentException("Invalid file or rank index");
         }
-        return values()[rankIndex * 8 + fileIndex];
+        return VALUES[rankIndex * 8 + fileIndex];
     }
 
     /**
@@ -194,7 +202,7 @@ public enum Square {
             throw new IllegalArgumentException("Invalid file or rank");
         }
         int index = (rank - 1) * 8 + (file - 'a');
-        return values()[index];
+        return VALUES[index];
     }
 
     /**
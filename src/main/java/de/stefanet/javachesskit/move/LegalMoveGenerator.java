@@ -1,7 +1,11 @@
 package de.stefanet.javachesskit.move;
 
 import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.bitboard.Bitboard;
+import de.stefanet.javachesskit.core.Color;
+import de.stefanet.javachesskit.core.PieceType;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * A generator for legal moves.
@@ -16,9 +20,22 @@ import java.util.Iterator;
  * }
  * }
  * </pre>
+ *
+ * <p>The moves are generated lazily in stages: king moves, captures, quiet moves, castling and En Passant.
+ * A stage is only generated when the moves of the previous stages are used up.
+ * The board must not be changed during the iteration,
+ * except for moves that are taken back before the next move is requested.
  */
 public class LegalMoveGenerator implements Iterable<Move> {
+    private static final int KING_MOVES = 0;
+    private static final int CAPTURES = 1;
+    private static final int QUIET_MOVES = 2;
+    private static final int CASTLING = 3;
+    private static final int EN_PASSANT = 4;
+    private static final int STAGES = 5;
+
     private final Board board;
+    private final MoveList buffer = new MoveList();
 
     /**
      * Create a new legal move generator for the given board.
@@ -31,7 +48,7 @@ public class LegalMoveGenerator implements Iterable<Move> {
 
     @Override
     public Iterator<Move> iterator() {
-        return board.generateLegalMoves().iterator();
+        return new StagedIterator();
     }
 
     /**
@@ -61,21 +78,83 @@ public class LegalMoveGenerator implements Iterable<Move> {
      * Check if there are any legal moves.
      *
      * @return True if there is at least one legal move, false otherwise.
+     * @see Board#hasLegalMove()
      */
     public boolean any() {
-        return iterator().hasNext();
+        return board.hasLegalMove();
     }
 
     /**
      * Count the number of legal moves.
      *
+     * <p>The moves are generated into a buffer that is reused by later calls, no move objects are created.
+     *
      * @return The number of legal moves.
      */
     public int count() {
-        int count = 0;
-        for (Move ignored : this) {
-            count++;
+        buffer.clear();
+        board.generateLegalMoves(buffer);
+        return buffer.size();
+    }
+
+    /**
+     * Appends the legal moves of the given stage to the move list.
+     *
+     * @param stage The stage.
+     * @param out   The move list to append the packed moves to.
+     */
+    private void generateStage(int stage, MoveList out) {
+        Color turn = board.getTurn();
+        long own = turn == Color.WHITE ? board.getWhitePieces() : board.getBlackPieces();
+        long kings = board.pieceMask(PieceType.KING, turn);
+        long epMask = board.getEpSquare() == null ? 0 : Bitboard.SQUARES[board.getEpSquare().ordinal()];
+
+        switch (stage) {
+            case KING_MOVES:
+                board.generateLegalMoves(out, kings, ~own);
+                break;
+            case CAPTURES:
+                board.generateLegalMoves(out, ~kings, board.getOccupied() & ~own);
+                break;
+            case QUIET_MOVES:
+                board.generateLegalMoves(out, ~kings, ~board.getOccupied() & ~epMask);
+                break;
+            case CASTLING:
+                // castling moves are generated with the square of the rook as target
+                board.generateLegalMoves(out, kings, own);
+                break;
+            default:
+                if (epMask != 0) {
+                    board.generateLegalMoves(out, ~kings, epMask);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Iterator that generates the next stage when the moves of the current stage are used up.
+     */
+    private final class StagedIterator implements Iterator<Move> {
+        private final MoveList moves = new MoveList();
+        private int stage = KING_MOVES;
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            while (index >= moves.size() && stage < STAGES) {
+                moves.clear();
+                index = 0;
+                generateStage(stage++, moves);
+            }
+            return index < moves.size();
+        }
+
+        @Override
+        public Move next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return PackedMove.toMove(moves.get(index++));
         }
-        return count;
     }
 }
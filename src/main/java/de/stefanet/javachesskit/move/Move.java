@@ -2,18 +2,36 @@ package de.stefanet.javachesskit.move;
 
 import de.stefanet.javachesskit.core.PieceType;
 import de.stefanet.javachesskit.core.Square;
-import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents chess moves consisting of a source square, a target square, and optionally a promotion type.
+ *
+ * <p>All possible moves are created once. {@link #of(Square, Square, PieceType)} and {@link #fromUci(String)}
+ * return these shared instances, so prefer them over the constructors.
  */
 public class Move {
 
+    private static final int PROMOTION_SLOTS = 5;
+    private static final Move[] MOVES = new Move[64 * 64 * PROMOTION_SLOTS];
+
+    static {
+        for (Square source : Square.values()) {
+            for (Square target : Square.values()) {
+                MOVES[index(source, target, null)] = new Move(source, target, null);
+                if (target.isBackrank()) {
+                    for (PieceType promotion : PieceType.promotionTypes()) {
+                        MOVES[index(source, target, promotion)] = new Move(source, target, promotion);
+                    }
+                }
+            }
+        }
+    }
+
     private final Square source;
     private final Square target;
     private final PieceType promotion;
+    private final int index;
+    private String uci;
 
     /**
      * Constructs a Move with the specified source square, target square, and promotion type.
@@ -27,15 +45,8 @@ public class Move {
         this.source = source;
         this.target = target;
         this.promotion = promotion;
-
-        if (promotion != null) {
-            if (!target.isBackrank()) {
-                throw new IllegalArgumentException("Invalid move: target square is not on backrank");
-            }
-            if (!PieceType.promotionTypes().contains(promotion)) {
-                throw new IllegalArgumentException("Invalid move: invalid promotion type " + promotion);
-            }
-        }
+        this.index = index(source, target, promotion);
+        checkPromotion(target, promotion);
     }
 
     /**
@@ -48,30 +59,77 @@ public class Move {
         this(source, target, null);
     }
 
+    /**
+     * Gets the Move with the specified source square and target square.
+     *
+     * @param source The source square of the move.
+     * @param target The target square of the move.
+     * @return The shared Move instance.
+     */
+    public static Move of(Square source, Square target) {
+        return MOVES[index(source, target, null)];
+    }
+
+    /**
+     * Gets the Move with the specified source square, target square, and promotion type.
+     *
+     * @param source    The source square of the move.
+     * @param target    The target square of the move.
+     * @param promotion The promotion type (can be null), either Rook, Knight, Bishop or Queen.
+     * @return The shared Move instance.
+     * @throws IllegalArgumentException If the move is invalid, only in cases of promotion not null.
+     */
+    public static Move of(Square source, Square target, PieceType promotion) {
+        checkPromotion(target, promotion);
+        return MOVES[index(source, target, promotion)];
+    }
+
     /**
      * Creates a Move from the given UCI (Universal Chess Interface) notation.
      *
      * @param move The move string in UCI format.
-     * @return A Move object representing the specified move.
+     * @return The shared Move instance representing the specified move.
      * @throws IllegalArgumentException If the move string is not in the correct format.
      * @see <a href="https://www.chessprogramming.org/UCI">UCI</a>
      */
     public static Move fromUci(String move) {
-        Pattern regex = Pattern.compile("^([a-h][1-8])([a-h][1-8])([rnbq]?)$");
-        Matcher matcher = regex.matcher(move);
-        if (!matcher.matches()) {
+        int length = move.length();
+        if (length < 4 || length > 5 ||
+            !isFile(move.charAt(0)) || !isRank(move.charAt(1)) ||
+            !isFile(move.charAt(2)) || !isRank(move.charAt(3)) ||
+            length == 5 && "rnbq".indexOf(move.charAt(4)) == -1) {
             throw new IllegalArgumentException("No uci format: " + move);
         }
 
-        Square source = Square.parseSquare(matcher.group(1));
-        Square target = Square.parseSquare(matcher.group(2));
-        PieceType promotion = null;
-        if (!matcher.group(3).isEmpty()) {
-            promotion = PieceType.fromSymbol(matcher.group(3).charAt(0));
+        Square source = Square.fromIndex((move.charAt(1) - '1') * 8 + move.charAt(0) - 'a');
+        Square target = Square.fromIndex((move.charAt(3) - '1') * 8 + move.charAt(2) - 'a');
+        PieceType promotion = length == 5 ? PieceType.fromSymbol(move.charAt(4)) : null;
+
+        return of(source, target, promotion);
+    }
+
+    private static void checkPromotion(Square target, PieceType promotion) {
+        if (promotion != null) {
+            if (!target.isBackrank()) {
+                throw new IllegalArgumentException("Invalid move: target square is not on backrank");
+            }
+            if (!PieceType.promotionTypes().contains(promotion)) {
+                throw new IllegalArgumentException("Invalid move: invalid promotion type " + promotion);
+            }
         }
+    }
 
+    private static boolean isFile(char c) {
+        return c >= 'a' && c <= 'h';
+    }
+
+    private static boolean isRank(char c) {
+        return c >= '1' && c <= '8';
+    }
 
-        return new Move(source, target, promotion);
+    private static int index(Square source, Square target, PieceType promotion) {
+        int slot = promotion == null ? 0 : promotion.ordinal();
+        return (source.ordinal() * 64 + target.ordinal()) * PROMOTION_SLOTS + slot;
     }
 
     /**
@@ -108,12 +166,16 @@ public class Move {
      * @see <a href="https://www.chessprogramming.org/UCI">UCI</a>
      */
     public String getUciMove() {
-        String promotionSymbol = "";
-        if (this.promotion != null) {
-            promotionSymbol = String.valueOf(this.promotion.getSymbol());
+        String uci = this.uci;
+        if (uci == null) {
+            String promotionSymbol = "";
+            if (this.promotion != null) {
+                promotionSymbol = String.valueOf(this.promotion.getSymbol());
+            }
+            uci = this.source.getName() + this.target.getName() + promotionSymbol;
+            this.uci = uci;
         }
-
-        return this.source.getName() + this.target.getName() + promotionSymbol;
+        return uci;
     }
 
     @Override
@@ -129,12 +191,11 @@ public class Move {
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
-        Move other = (Move) o;
-        return this.getUciMove().equals(other.getUciMove());
+        return this.index == ((Move) o).index;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(source, target, promotion);
+        return index;
     }
 }
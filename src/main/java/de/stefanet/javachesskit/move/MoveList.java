@@ -0,0 +1,201 @@
+package de.stefanet.javachesskit.move;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A growable list of packed moves.
+ *
+ * <p>The list is backed by an int array and is meant to be reused, e.g. one list per ply of a search.
+ * The move generators of {@link de.stefanet.javachesskit.Board} append to the end of the list,
+ * so the list has to be cleared by the caller.
+ * Example:
+ * <pre>
+ * {@code
+ * MoveList moves = new MoveList();
+ * board.generateLegalMoves(moves);
+ * for (int i = 0; i < moves.size(); i++) {
+ *     board.push(moves.get(i));
+ *     ...
+ *     board.pop();
+ * }
+ * }
+ * </pre>
+ *
+ * @see PackedMove
+ */
+public class MoveList {
+
+    /**
+     * The default capacity, enough for the moves of almost every chess position.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private int[] moves;
+    private int size;
+
+    /**
+     * Creates an empty move list with the default capacity.
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty move list with the given initial capacity.
+     *
+     * @param capacity The initial capacity.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public MoveList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + capacity);
+        }
+        this.moves = new int[capacity];
+    }
+
+    /**
+     * Appends a packed move to the end of the list.
+     *
+     * @param move The packed move.
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, Math.max(16, moves.length * 2));
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Gets the packed move at the given position.
+     *
+     * @param index The position in the list.
+     * @return The packed move.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return moves[index];
+    }
+
+    /**
+     * Replaces the packed move at the given position.
+     *
+     * @param index The position in the list.
+     * @param move  The packed move.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public void set(int index, int move) {
+        checkIndex(index);
+        moves[index] = move;
+    }
+
+    /**
+     * Gets the number of moves in the list.
+     *
+     * @return The number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list contains no moves, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all moves from the list. The capacity is kept.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shrinks the list to the given size, dropping all moves behind it.
+     *
+     * @param newSize The new size.
+     * @throws IndexOutOfBoundsException If the new size is negative or larger than the current size.
+     */
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException("Size: " + newSize + ", current size: " + size);
+        }
+        size = newSize;
+    }
+
+    /**
+     * Checks if the list contains the given packed move, including its flags.
+     *
+     * @param move The packed move.
+     * @return True if the list contains the move, false otherwise.
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of the packed moves in the list.
+     *
+     * @return An array with the packed moves.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+
+    /**
+     * Unpacks the moves in the list into a list of move objects, keeping the order.
+     *
+     * @return A list of move objects.
+     */
+    public List<Move> toMoves() {
+        List<Move> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(PackedMove.toMove(moves[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Unpacks the moves in the list into a set of move objects, keeping the order.
+     *
+     * @return A set of move objects.
+     */
+    public Set<Move> toMoveSet() {
+        Set<Move> result = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            result.add(PackedMove.toMove(moves[i]));
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MoveList[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(PackedMove.toUci(moves[i]));
+        }
+        return sb.append(']').toString();
+    }
+}
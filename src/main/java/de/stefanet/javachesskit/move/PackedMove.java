@@ -0,0 +1,240 @@
+package de.stefanet.javachesskit.move;
+
+import de.stefanet.javachesskit.core.PieceType;
+import de.stefanet.javachesskit.core.Square;
+
+/**
+ * Codec for moves packed into the lower 16 bits of an int.
+ *
+ * <p>The layout follows the common from-to encoding:
+ * <pre>
+ * bits  0 -  5: source square index
+ * bits  6 - 11: target square index
+ * bits 12 - 15: flags
+ * </pre>
+ *
+ * <p>The flags are {@link #QUIET}, {@link #DOUBLE_PAWN_PUSH}, {@link #KING_CASTLE}, {@link #QUEEN_CASTLE},
+ * {@link #CAPTURE} and {@link #EN_PASSANT}. Promotions set the {@link #PROMOTION} bit and store the promotion type
+ * in the two lowest flag bits, optionally combined with {@link #CAPTURE}.
+ *
+ * <p>Packed moves carry no reference to a board. Flags that depend on the position, like captures or castling,
+ * are filled in by {@link de.stefanet.javachesskit.Board#packMove(Move)}.
+ *
+ * @see <a href="https://www.chessprogramming.org/Encoding_Moves">Encoding Moves</a>
+ */
+public final class PackedMove {
+
+    /**
+     * The packed null move. It can never be a legal move, because source and target are both A1.
+     */
+    public static final int NONE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TARGET_SHIFT = 6;
+    private static final int FLAGS_SHIFT = 12;
+    private static final int FLAGS_MASK = 0xF;
+
+    private PackedMove() {
+    }
+
+    /**
+     * Packs a move without flags.
+     *
+     * @param source The index of the source square.
+     * @param target The index of the target square.
+     * @return The packed move.
+     */
+    public static int of(int source, int target) {
+        return of(source, target, QUIET);
+    }
+
+    /**
+     * Packs a move with the given flags.
+     *
+     * @param source The index of the source square.
+     * @param target The index of the target square.
+     * @param flags  The flags of the move.
+     * @return The packed move.
+     */
+    public static int of(int source, int target, int flags) {
+        return (source & SQUARE_MASK) | (target & SQUARE_MASK) << TARGET_SHIFT | (flags & FLAGS_MASK) << FLAGS_SHIFT;
+    }
+
+    /**
+     * Packs a promotion move.
+     *
+     * @param source    The index of the source square.
+     * @param target    The index of the target square.
+     * @param promotion The promotion type, either Knight, Bishop, Rook or Queen.
+     * @param capture   Whether the promotion captures a piece.
+     * @return The packed move.
+     * @throws IllegalArgumentException If the promotion type is invalid.
+     */
+    public static int ofPromotion(int source, int target, PieceType promotion, boolean capture) {
+        return of(source, target, promotionFlags(promotion) | (capture ? CAPTURE : 0));
+    }
+
+    /**
+     * Packs the given move object.
+     *
+     * <p>Only the promotion flag can be derived from the move itself.
+     * Use {@link de.stefanet.javachesskit.Board#packMove(Move)} to get all flags.
+     *
+     * @param move The move.
+     * @return The packed move.
+     */
+    public static int fromMove(Move move) {
+        int source = move.getSource().ordinal();
+        int target = move.getTarget().ordinal();
+        if (move.getPromotion() != null) {
+            return of(source, target, promotionFlags(move.getPromotion()));
+        }
+        return of(source, target);
+    }
+
+    /**
+     * Unpacks the given move into a move object.
+     *
+     * @param move The packed move.
+     * @return The move object.
+     */
+    public static Move toMove(int move) {
+        return Move.of(Square.fromIndex(getSource(move)), Square.fromIndex(getTarget(move)), getPromotion(move));
+    }
+
+    /**
+     * Gets the move string of the packed move in UCI (Universal Chess Interface) notation.
+     *
+     * @param move The packed move.
+     * @return The move string in UCI format.
+     */
+    public static String toUci(int move) {
+        return toMove(move).getUciMove();
+    }
+
+    /**
+     * Gets the index of the source square.
+     *
+     * @param move The packed move.
+     * @return The index of the source square.
+     */
+    public static int getSource(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the index of the target square.
+     *
+     * @param move The packed move.
+     * @return The index of the target square.
+     */
+    public static int getTarget(int move) {
+        return (move >>> TARGET_SHIFT) & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the flags of the packed move.
+     *
+     * @param move The packed move.
+     * @return The flags of the move.
+     */
+    public static int getFlags(int move) {
+        return (move >>> FLAGS_SHIFT) & FLAGS_MASK;
+    }
+
+    /**
+     * Gets the promotion type of the packed move.
+     *
+     * @param move The packed move.
+     * @return The promotion type, or null if the move is no promotion.
+     */
+    public static PieceType getPromotion(int move) {
+        if (!isPromotion(move)) {
+            return null;
+        }
+        switch (getFlags(move) & 3) {
+            case 0:
+                return PieceType.KNIGHT;
+            case 1:
+                return PieceType.BISHOP;
+            case 2:
+                return PieceType.ROOK;
+            default:
+                return PieceType.QUEEN;
+        }
+    }
+
+    /**
+     * Checks if the packed move is a promotion.
+     *
+     * @param move The packed move.
+     * @return True if the move is a promotion, false otherwise.
+     */
+    public static boolean isPromotion(int move) {
+        return (getFlags(move) & PROMOTION) != 0;
+    }
+
+    /**
+     * Checks if the packed move is a capture, including En Passant.
+     *
+     * @param move The packed move.
+     * @return True if the move is a capture, false otherwise.
+     */
+    public static boolean isCapture(int move) {
+        return (getFlags(move) & CAPTURE) != 0;
+    }
+
+    /**
+     * Checks if the packed move is En Passant.
+     *
+     * @param move The packed move.
+     * @return True if the move is En Passant, false otherwise.
+     */
+    public static boolean isEnPassant(int move) {
+        return getFlags(move) == EN_PASSANT;
+    }
+
+    /**
+     * Checks if the packed move is a castling move.
+     *
+     * @param move The packed move.
+     * @return True if the move is castling, false otherwise.
+     */
+    public static boolean isCastling(int move) {
+        int flags = getFlags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    /**
+     * Checks if the packed move is a double pawn push.
+     *
+     * @param move The packed move.
+     * @return True if the move is a double pawn push, false otherwise.
+     */
+    public static boolean isDoublePawnPush(int move) {
+        return getFlags(move) == DOUBLE_PAWN_PUSH;
+    }
+
+    private static int promotionFlags(PieceType promotion) {
+        switch (promotion) {
+            case KNIGHT:
+                return PROMOTION;
+            case BISHOP:
+                return PROMOTION | 1;
+            case ROOK:
+                return PROMOTION | 2;
+            case QUEEN:
+                return PROMOTION | 3;
+            default:
+                throw new IllegalArgumentException("Invalid promotion type " + promotion);
+        }
+    }
+}
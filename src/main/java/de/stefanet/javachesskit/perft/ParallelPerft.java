@@ -0,0 +1,176 @@
+package de.stefanet.javachesskit.perft;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import de.stefanet.javachesskit.move.MoveList;
+import de.stefanet.javachesskit.move.PackedMove;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft that splits the move tree across a {@link ForkJoinPool}.
+ *
+ * <p>The moves of the first plies are split into tasks, each working on its own copy of the board.
+ * Below the split depth every task runs a sequential {@link Perft}. Optionally all tasks share a
+ * {@link PerftHashTable}, so transpositions are only counted once.
+ * Example:
+ * <pre>
+ * {@code
+ * ParallelPerft perft = new ParallelPerft(ForkJoinPool.commonPool(), 2, new PerftHashTable(1 << 22));
+ * long nodes = perft.perft(new Board(), 7);
+ * }
+ * </pre>
+ */
+public class ParallelPerft {
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+    private final PerftHashTable hashTable;
+
+    /**
+     * Creates a parallel perft on the common pool that splits the first two plies and uses no hash table.
+     */
+    public ParallelPerft() {
+        this(ForkJoinPool.commonPool(), 2, null);
+    }
+
+    /**
+     * Creates a parallel perft.
+     *
+     * @param pool       The pool that runs the tasks.
+     * @param splitDepth The number of plies that are split into tasks, at least 1.
+     *                   A split depth of 2 creates enough tasks for machines with many cores.
+     * @param hashTable  The hash table shared by all tasks, or null to count without hash table.
+     * @throws IllegalArgumentException If the split depth is less than 1.
+     */
+    public ParallelPerft(ForkJoinPool pool, int splitDepth, PerftHashTable hashTable) {
+        if (splitDepth < 1) {
+            throw new IllegalArgumentException("Split depth must be at least 1: " + splitDepth);
+        }
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+        this.hashTable = hashTable;
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree to the given depth.
+     *
+     * <p>The given board is not modified.
+     *
+     * @param board The board.
+     * @param depth The depth.
+     * @return The number of leaf nodes.
+     * @throws IllegalArgumentException If the depth is negative or at least 64 with a hash table.
+     */
+    public long perft(Board board, int depth) {
+        checkDepth(depth);
+        if (depth == 0) {
+            return 1;
+        }
+
+        long nodes = 0;
+        for (PerftResult result : divide(board, depth).values()) {
+            nodes += result.getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes for each legal move of the position.
+     *
+     * <p>The result of each move contains the position after the move, the remaining depth,
+     * the leaf nodes of the subtree and the time it took to count them. The moves are in the order
+     * of the move generator. The given board is not modified.
+     *
+     * @param board The board.
+     * @param depth The depth, at least 1.
+     * @return A map of the legal moves (key) and the result of the subtree below the move (value).
+     * @throws IllegalArgumentException If the depth is less than 1 or at least 64 with a hash table.
+     */
+    public Map<Move, PerftResult> divide(Board board, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Divide needs a depth of at least 1: " + depth);
+        }
+        checkDepth(depth);
+
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(moves);
+
+        List<SubtreeTask> tasks = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            tasks.add(new SubtreeTask(board, moves.get(i), depth - 1, splitDepth - 1));
+        }
+
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks);
+                return null;
+            }
+        });
+
+        Map<Move, PerftResult> result = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            SubtreeTask task = tasks.get(i);
+            result.put(PackedMove.toMove(moves.get(i)),
+                       new PerftResult(task.board.getFen(), depth - 1, task.join(), task.nanos));
+        }
+        return result;
+    }
+
+    private void checkDepth(int depth) {
+        Perft.checkDepth(depth);
+        if (hashTable != null && depth >= 64) {
+            throw new IllegalArgumentException("Depth too large for the hash table: " + depth);
+        }
+    }
+
+    /**
+     * Counts the subtree below a move on a copy of the board.
+     */
+    private final class SubtreeTask extends RecursiveTask<Long> {
+        private final Board board;
+        private final int depth;
+        private final int splits;
+        private long nanos;
+
+        SubtreeTask(Board parent, int move, int depth, int splits) {
+            this.board = parent.copy();
+            this.board.push(move);
+            this.depth = depth;
+            this.splits = splits;
+        }
+
+        @Override
+        protected Long compute() {
+            long start = System.nanoTime();
+            long nodes;
+
+            if (depth == 0) {
+                nodes = 1;
+            } else if (splits > 0 && depth > 1) {
+                MoveList moves = new MoveList();
+                board.generateLegalMoves(moves);
+
+                List<SubtreeTask> children = new ArrayList<>(moves.size());
+                for (int i = 0; i < moves.size(); i++) {
+                    children.add(new SubtreeTask(board, moves.get(i), depth - 1, splits - 1));
+                }
+                invokeAll(children);
+
+                nodes = 0;
+                for (SubtreeTask child : children) {
+                    nodes += child.join();
+                }
+            } else {
+                nodes = Perft.perft(board, depth, Perft.createBuffers(depth), hashTable);
+            }
+
+            this.nanos = System.nanoTime() - start;
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package de.stefanet.javachesskit.perft;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.InvalidFenException;
+import de.stefanet.javachesskit.move.Move;
+import de.stefanet.javachesskit.move.MoveList;
+import de.stefanet.javachesskit.move.PackedMove;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Perft (performance test) for the legal move generator.
+ *
+ * <p>Perft walks the tree of legal moves to a fixed depth and counts the leaf nodes.
+ * The counts of well-known positions are listed in {@link PerftPosition}, so any difference
+ * points to a bug in the move generation. At the last ply the legal moves are only counted,
+ * not made (bulk counting).
+ *
+ * <p>The class can also be run from the command line:
+ * <pre>
+ * Perft [depth] [fen]          counts the leaf nodes of the position (default: initial position)
+ * Perft divide [depth] [fen]   counts the leaf nodes for each legal move of the position
+ * Perft parallel [depth] [fen] like divide, but on all cores with a shared hash table and timings per move
+ * Perft suite [depth]          runs all reference positions up to the given depth (default: 4)
+ * </pre>
+ *
+ * @see <a href="https://www.chessprogramming.org/Perft">Perft</a>
+ */
+public final class Perft {
+
+    private static final int DEFAULT_DEPTH = 4;
+    private static final int PARALLEL_HASH_ENTRIES = 1 << 22;
+
+    private Perft() {
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree to the given depth.
+     *
+     * <p>The board is restored to its original position afterwards.
+     *
+     * @param board The board.
+     * @param depth The depth.
+     * @return The number of leaf nodes.
+     * @throws IllegalArgumentException If the depth is negative.
+     */
+    public static long perft(Board board, int depth) {
+        checkDepth(depth);
+        if (depth == 0) {
+            return 1;
+        }
+        return perft(board, depth, createBuffers(depth), null);
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree to the given depth, reusing the counts of transpositions.
+     *
+     * <p>The board is restored to its original position afterwards.
+     *
+     * @param board     The board.
+     * @param depth     The depth, less than 64.
+     * @param hashTable The hash table for the node counts of positions already seen, may be shared between threads.
+     * @return The number of leaf nodes.
+     * @throws IllegalArgumentException If the depth is negative or at least 64.
+     */
+    public static long perft(Board board, int depth, PerftHashTable hashTable) {
+        checkDepth(depth);
+        if (depth >= 64) {
+            throw new IllegalArgumentException("Depth too large for the hash table: " + depth);
+        }
+        if (depth == 0) {
+            return 1;
+        }
+        return perft(board, depth, createBuffers(depth), hashTable);
+    }
+
+    /**
+     * Counts the leaf nodes for each legal move of the position.
+     *
+     * <p>The moves are in the order of the move generator.
+     * The board is restored to its original position afterwards.
+     *
+     * @param board The board.
+     * @param depth The depth, at least 1.
+     * @return A map of the legal moves (key) and the number of leaf nodes below the move (value).
+     * @throws IllegalArgumentException If the depth is less than 1.
+     */
+    public static Map<Move, Long> divide(Board board, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Divide needs a depth of at least 1: " + depth);
+        }
+
+        MoveList[] buffers = createBuffers(depth);
+        MoveList moves = buffers[depth];
+        board.generateLegalMoves(moves);
+
+        Map<Move, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            long nodes = 1;
+            if (depth > 1) {
+                board.makeMove(move);
+                nodes = perft(board, depth - 1, buffers, null);
+                board.unmakeMove();
+            }
+            result.put(PackedMove.toMove(move), nodes);
+        }
+        return result;
+    }
+
+    /**
+     * Runs a timed perft to the given depth.
+     *
+     * @param board The board.
+     * @param depth The depth.
+     * @return The result of the run.
+     * @throws IllegalArgumentException If the depth is negative.
+     */
+    public static PerftResult run(Board board, int depth) {
+        long start = System.nanoTime();
+        long nodes = perft(board, depth);
+        return new PerftResult(board.getFen(), depth, nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs a timed perft of the given reference position.
+     *
+     * @param position The reference position.
+     * @param depth    The depth.
+     * @return The result of the run.
+     * @throws IllegalArgumentException If the depth is negative.
+     */
+    public static PerftResult run(PerftPosition position, int depth) {
+        return run(new Board(position.getFen()), depth);
+    }
+
+    static long perft(Board board, int depth, MoveList[] buffers, PerftHashTable hashTable) {
+        long key = 0;
+        if (hashTable != null && depth > 1) {
+            key = board.getZobristKey();
+            long nodes = hashTable.get(key, depth);
+            if (nodes >= 0) {
+                return nodes;
+            }
+        }
+
+        MoveList moves = buffers[depth];
+        moves.clear();
+        board.generateLegalMoves(moves);
+
+        if (depth == 1) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += perft(board, depth - 1, buffers, hashTable);
+            board.unmakeMove();
+        }
+
+        if (hashTable != null) {
+            hashTable.put(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    static MoveList[] createBuffers(int depth) {
+        MoveList[] buffers = new MoveList[depth + 1];
+        for (int i = 1; i <= depth; i++) {
+            buffers[i] = new MoveList();
+        }
+        return buffers;
+    }
+
+    static void checkDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Negative depth: " + depth);
+        }
+    }
+
+    /**
+     * Runs perft from the command line.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        int status = execute(args, System.out);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Executes the command line arguments and prints the results.
+     *
+     * @param args The command line arguments.
+     * @param out  The stream for the output.
+     * @return The exit status, 0 on success, 1 if a reference count does not match and 2 on invalid arguments.
+     */
+    static int execute(String[] args, PrintStream out) {
+        String command = args.length > 0 ? args[0] : "";
+        try {
+            switch (command) {
+                case "suite":
+                    return suite(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH, out);
+                case "divide":
+                    return divide(Arrays.copyOfRange(args, 1, args.length), out);
+                case "parallel":
+                    return parallel(Arrays.copyOfRange(args, 1, args.length), out);
+                default:
+                    return count(args, out);
+            }
+        } catch (IllegalArgumentException | InvalidFenException e) {
+            out.println(e.getMessage());
+            out.println("Usage: Perft [depth] [fen] | Perft divide [depth] [fen] | Perft parallel [depth] [fen] | " +
+                        "Perft suite [depth]");
+            return 2;
+        }
+    }
+
+    private static int count(String[] args, PrintStream out) {
+        PerftResult result = run(boardFromArgs(args), depthFromArgs(args));
+        printResult(result, out);
+        return 0;
+    }
+
+    private static int divide(String[] args, PrintStream out) {
+        Board board = boardFromArgs(args);
+        int depth = depthFromArgs(args);
+
+        long start = System.nanoTime();
+        long nodes = 0;
+        for (Map.Entry<Move, Long> entry : divide(board, depth).entrySet()) {
+            out.println(entry.getKey().getUciMove() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+        out.println();
+        printResult(new PerftResult(board.getFen(), depth, nodes, System.nanoTime() - start), out);
+        return 0;
+    }
+
+    private static int parallel(String[] args, PrintStream out) {
+        Board board = boardFromArgs(args);
+        int depth = depthFromArgs(args);
+        PerftHashTable hashTable = new PerftHashTable(PARALLEL_HASH_ENTRIES);
+        ParallelPerft perft = new ParallelPerft(ForkJoinPool.commonPool(), 2, hashTable);
+
+        long start = System.nanoTime();
+        long nodes = 0;
+        for (Map.Entry<Move, PerftResult> entry : perft.divide(board, depth).entrySet()) {
+            PerftResult result = entry.getValue();
+            out.println(entry.getKey().getUciMove() + ": " + result.getNodes() + " (" + result.getMillis() + " ms)");
+            nodes += result.getNodes();
+        }
+        out.println();
+        printResult(new PerftResult(board.getFen(), depth, nodes, System.nanoTime() - start), out);
+        return 0;
+    }
+
+    private static int suite(int maxDepth, PrintStream out) {
+        checkDepth(maxDepth);
+        int status = 0;
+        long nodes = 0;
+        long nanos = 0;
+
+        for (PerftPosition position : PerftPosition.values()) {
+            int depth = Math.min(maxDepth, position.getMaxDepth());
+            PerftResult result = run(position, depth);
+            long expected = depth == 0 ? 1 : position.getExpectedNodes(depth);
+            boolean ok = result.getNodes() == expected;
+
+            out.printf("%-4s %-10s depth %d: %d nodes (expected %d), %d ms, %d nps%n",
+                       ok ? "OK" : "FAIL", position, depth, result.getNodes(), expected,
+                       result.getMillis(), result.getNodesPerSecond());
+
+            nodes += result.getNodes();
+            nanos += result.getNanos();
+            if (!ok) {
+                status = 1;
+            }
+        }
+
+        out.println();
+        printResult(new PerftResult(null, maxDepth, nodes, nanos), out);
+        return status;
+    }
+
+    private static Board boardFromArgs(String[] args) {
+        if (args.length < 2) {
+            return new Board();
+        }
+        return new Board(String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+    }
+
+    private static int depthFromArgs(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        checkDepth(depth);
+        return depth;
+    }
+
+    private static void printResult(PerftResult result, PrintStream out) {
+        out.println("Nodes: " + result.getNodes());
+        out.println("Time: " + result.getMillis() + " ms");
+        out.println("NPS: " + result.getNodesPerSecond());
+    }
+}
@@ -0,0 +1,88 @@
+package de.stefanet.javachesskit.perft;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free hash table for perft results, shared between threads.
+ *
+ * <p>Each entry stores the Zobrist key XOR-ed with the data next to the data itself.
+ * A reader recomputes the key from both words, so entries torn by concurrent writes are detected
+ * and treated as misses instead of returning wrong node counts. Entries are always replaced.
+ *
+ * @see <a href="https://www.chessprogramming.org/Shared_Hash_Table#Lockless">Lockless hashing</a>
+ */
+public class PerftHashTable {
+    private static final int DEPTH_BITS = 6;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    private final AtomicLongArray table;
+    private final int mask;
+
+    /**
+     * Creates a new hash table with at least the given number of entries.
+     *
+     * <p>The capacity is rounded up to the next power of two. Each entry takes 16 bytes.
+     *
+     * @param capacity The minimum number of entries.
+     * @throws IllegalArgumentException If the capacity is not positive or larger than 2^29.
+     */
+    public PerftHashTable(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.table = new AtomicLongArray(2 * size);
+    }
+
+    /**
+     * Gets the stored node count of the position at the given depth.
+     *
+     * @param key   The Zobrist key of the position.
+     * @param depth The remaining depth.
+     * @return The number of leaf nodes, or -1 if there is no entry.
+     */
+    public long get(long key, int depth) {
+        int index = 2 * ((int) key & mask);
+        long data = table.get(index + 1);
+        if ((table.get(index) ^ data) != key || (data & DEPTH_MASK) != depth) {
+            return -1;
+        }
+        return data >>> DEPTH_BITS;
+    }
+
+    /**
+     * Stores the node count of the position at the given depth.
+     *
+     * @param key   The Zobrist key of the position.
+     * @param depth The remaining depth, less than 64.
+     * @param nodes The number of leaf nodes.
+     */
+    public void put(long key, int depth, long nodes) {
+        int index = 2 * ((int) key & mask);
+        long data = nodes << DEPTH_BITS | depth;
+        table.set(index, key ^ data);
+        table.set(index + 1, data);
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, 0);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package de.stefanet.javachesskit.perft;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of a timed perft run.
+ */
+public class PerftResult {
+    private final String fen;
+    private final int depth;
+    private final long nodes;
+    private final long nanos;
+
+    /**
+     * Constructs a new PerftResult.
+     *
+     * @param fen   The FEN of the root position.
+     * @param depth The depth of the run.
+     * @param nodes The number of leaf nodes.
+     * @param nanos The elapsed time in nanoseconds.
+     */
+    public PerftResult(String fen, int depth, long nodes, long nanos) {
+        this.fen = fen;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Gets the FEN of the root position.
+     *
+     * @return The FEN of the root position.
+     */
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * Gets the depth of the run.
+     *
+     * @return The depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the number of leaf nodes.
+     *
+     * @return The number of leaf nodes.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the elapsed time in nanoseconds.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Gets the elapsed time in milliseconds.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Gets the number of leaf nodes per second.
+     *
+     * @return The number of leaf nodes per second.
+     */
+    public long getNodesPerSecond() {
+        return nanos == 0 ? 0 : (long) (nodes * 1e9 / nanos);
+    }
+
+    @Override
+    public String toString() {
+        return "PerftResult{" + "depth=" + depth + ", nodes=" + nodes + ", millis=" + getMillis() +
+               ", nps=" + getNodesPerSecond() + '}';
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Perft utilities for verifying and benchmarking the move generator.
+ */
+package de.stefanet.javachesskit.perft;
@@ -0,0 +1,363 @@
+package de.stefanet.javachesskit.pgn;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Imports the games of a PGN file with several threads.
+ *
+ * <p>The file is split into chunks of about the same size at game boundaries, i.e. at lines starting
+ * with {@code [Event}. The chunks are read with positional reads from a shared file channel and parsed
+ * by a pool of workers. Each worker owns a {@link Board} and replays the main line of its games with
+ * {@link Board#pushSan(String)}, then a {@link PgnGameHandler} converts the game into a result.
+ *
+ * <p>The results are passed to a sink on the calling thread, either in the order of the file or in the
+ * order in which the chunks are finished. The number of chunks in flight is limited, so a slow sink
+ * slows down the reading instead of filling the memory.
+ * Example:
+ * <pre>
+ * {@code
+ * ParallelPgnImporter importer = new ParallelPgnImporter();
+ * importer.importGames(Paths.get("games.pgn"), (headers, moves, board) -> board.getFen(), System.out::println);
+ * }
+ * </pre>
+ *
+ * <p>Games without an {@code [Event} header are never split from the previous game, so a file without
+ * them is imported by a single worker.
+ */
+public class ParallelPgnImporter {
+    /**
+     * The default size of a chunk in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    private static final byte[] GAME_START = "[Event".getBytes(StandardCharsets.US_ASCII);
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    private final int threads;
+    private final boolean ordered;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    /**
+     * Creates an importer with a worker for each processor and ordered results.
+     */
+    public ParallelPgnImporter() {
+        this(Runtime.getRuntime().availableProcessors(), true, DEFAULT_CHUNK_SIZE,
+             2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an importer.
+     *
+     * @param threads           The number of worker threads.
+     * @param ordered           True to pass the results to the sink in the order of the file,
+     *                          false to pass them as soon as their chunk is finished.
+     * @param chunkSize         The minimum size of a chunk in bytes, a chunk ends at the next game boundary.
+     * @param maxChunksInFlight The maximum number of chunks that are read or parsed, but not yet passed
+     *                          to the sink. Together with the chunk size it limits the memory of the results.
+     * @throws IllegalArgumentException If a parameter is less than 1.
+     */
+    public ParallelPgnImporter(int threads, boolean ordered, int chunkSize, int maxChunksInFlight) {
+        if (threads < 1 || chunkSize < 1 || maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("Threads, chunk size and chunks in flight must be at least 1: " +
+                                               threads + ", " + chunkSize + ", " + maxChunksInFlight);
+        }
+        this.threads = threads;
+        this.ordered = ordered;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * Imports all games of the file.
+     *
+     * <p>The method returns when all results are passed to the sink. If the handler or the sink throws
+     * an exception, the import is cancelled and the exception is rethrown.
+     *
+     * @param path    The path of the PGN file.
+     * @param handler The handler that converts the games into results, called by the worker threads.
+     * @param sink    The consumer of the results that are not null, called by the calling thread.
+     * @param <T>     The type of the results.
+     * @return The number of games in the file, including invalid and skipped games.
+     * @throws IOException          If the file cannot be read.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the workers.
+     */
+    public <T> long importGames(Path path, PgnGameHandler<T> handler, Consumer<? super T> sink)
+            throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ThreadLocal<GameReplayer<T>> replayers = ThreadLocal.withInitial(() -> new GameReplayer<>(handler));
+        CompletionService<Chunk<T>> completion = new ExecutorCompletionService<>(executor);
+        Deque<Future<Chunk<T>>> inFlight = new ArrayDeque<>();
+        long games = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+
+            long start = 0;
+            while (start < size) {
+                long chunkStart = start;
+                long chunkEnd = start + chunkSize >= size ? size :
+                                findGameStart(channel, start + chunkSize, size, scanBuffer);
+                Callable<Chunk<T>> task = () -> replayers.get().replay(channel, chunkStart, chunkEnd);
+                // only unordered results are queued for completion, ordered ones are taken from the deque
+                inFlight.addLast(ordered ? executor.submit(task) : completion.submit(task));
+                start = chunkEnd;
+
+                if (inFlight.size() == maxChunksInFlight) {
+                    games += deliver(next(inFlight, completion), sink);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                games += deliver(next(inFlight, completion), sink);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return games;
+    }
+
+    /**
+     * Waits for the next chunk, the oldest one if the results are ordered, otherwise the first finished one.
+     */
+    private <T> Chunk<T> next(Deque<Future<Chunk<T>>> inFlight, CompletionService<Chunk<T>> completion)
+            throws IOException, InterruptedException {
+        Future<Chunk<T>> future;
+        if (ordered) {
+            future = inFlight.removeFirst();
+        } else {
+            future = completion.take();
+            inFlight.remove(future);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static <T> long deliver(Chunk<T> chunk, Consumer<? super T> sink) {
+        for (T result : chunk.results) {
+            sink.accept(result);
+        }
+        return chunk.games;
+    }
+
+    /**
+     * Finds the first game start at or after the given offset.
+     *
+     * @param channel The file.
+     * @param from    The offset where the search starts.
+     * @param size    The size of the file.
+     * @param buffer  The buffer for the search.
+     * @return The offset of the first line starting with {@code [Event}, or the size of the file if there is none.
+     * @throws IOException If the file cannot be read.
+     */
+    static long findGameStart(FileChannel channel, long from, long size, ByteBuffer buffer) throws IOException {
+        long offset = from;
+        while (offset < size) {
+            // the byte before the offset is read as well to detect the start of a line
+            long base = offset - 1;
+            buffer.clear();
+            int count;
+            do {
+                count = channel.read(buffer, base + buffer.position());
+            } while (count > 0 && buffer.hasRemaining());
+            byte[] bytes = buffer.array();
+            int length = buffer.position();
+
+            for (int i = 1; i + GAME_START.length <= length; i++) {
+                if (bytes[i - 1] == '\n' && startsWith(bytes, i, GAME_START)) {
+                    return base + i;
+                }
+            }
+            if (base + length >= size) {
+                break;
+            }
+            offset = base + length - GAME_START.length;
+        }
+        return size;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The results of a chunk.
+     */
+    private static final class Chunk<T> {
+        private final List<T> results;
+        private final long games;
+
+        Chunk(List<T> results, long games) {
+            this.results = results;
+            this.games = games;
+        }
+    }
+
+    /**
+     * Replays the games of the chunks of one worker on its own board.
+     */
+    private static final class GameReplayer<T> implements PgnVisitor {
+        private final PgnGameHandler<T> handler;
+        private final Board board = new Board();
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final List<Move> moves = new ArrayList<>();
+        private List<T> results;
+        private long games;
+        private int depth;
+        private RuntimeException error;
+
+        GameReplayer(PgnGameHandler<T> handler) {
+            this.handler = handler;
+        }
+
+        Chunk<T> replay(FileChannel channel, long start, long end) throws IOException {
+            results = new ArrayList<>();
+            games = 0;
+
+            PgnReader reader = new PgnReader(new RangeChannel(channel, start, end));
+            while (reader.readGame(this)) {
+                games++;
+            }
+            return new Chunk<>(results, games);
+        }
+
+        @Override
+        public void beginGame() {
+            headers.clear();
+            moves.clear();
+            depth = 0;
+            error = null;
+        }
+
+        @Override
+        public void header(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        public void endHeaders() {
+            try {
+                String fen = headers.get("FEN");
+                if (fen == null) {
+                    board.reset();
+                } else {
+                    board.setFen(fen);
+                }
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        @Override
+        public void move(String san) {
+            if (depth > 0 || error != null) {
+                return;
+            }
+            try {
+                moves.add(board.pushSan(san));
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        @Override
+        public void beginVariation() {
+            depth++;
+        }
+
+        @Override
+        public void endVariation() {
+            depth--;
+        }
+
+        @Override
+        public void endGame(String result) {
+            T output = error == null ? handler.game(headers, moves, board) : handler.invalidGame(headers, error);
+            if (output != null) {
+                results.add(output);
+            }
+        }
+    }
+
+    /**
+     * A channel that reads a range of a file with positional reads, so many ranges can be read at the same time.
+     */
+    private static final class RangeChannel implements ReadableByteChannel {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeChannel(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int limit = dst.limit();
+            dst.limit(dst.position() + (int) Math.min(dst.remaining(), end - position));
+            int count = channel.read(dst, position);
+            dst.limit(limit);
+
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // the file channel is shared by all chunks and closed by the importer
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package de.stefanet.javachesskit.pgn;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the games replayed by a {@link ParallelPgnImporter} into results.
+ *
+ * <p>The handler is called by the worker threads and must be thread-safe. The arguments are reused
+ * for the next game of the worker, so a result must copy what it needs.
+ *
+ * @param <T> The type of the results.
+ */
+@FunctionalInterface
+public interface PgnGameHandler<T> {
+
+    /**
+     * Called for each game that was replayed.
+     *
+     * @param headers The headers of the game in the order of the file.
+     * @param moves   The moves of the main line.
+     * @param board   The position at the end of the main line.
+     * @return The result of the game, or null to skip the game.
+     */
+    T game(Map<String, String> headers, List<Move> moves, Board board);
+
+    /**
+     * Called for each game that cannot be replayed, e.g. because of an illegal move or an invalid FEN header.
+     *
+     * @param headers The headers of the game in the order of the file.
+     * @param error   The error of the replay.
+     * @return The result of the game, or null to skip the game. Invalid games are skipped by default.
+     */
+    default T invalidGame(Map<String, String> headers, RuntimeException error) {
+        return null;
+    }
+}
@@ -0,0 +1,377 @@
+package de.stefanet.javachesskit.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A streaming reader for games in the portable game notation (PGN).
+ *
+ * <p>The input is read in blocks into a fixed buffer and tokenized on the fly; the tokens are reported
+ * to a {@link PgnVisitor}. Neither the file nor a whole game is held in memory, and the buffers are
+ * reused for all games, so files of any size can be read with a small, constant heap footprint.
+ * The input is decoded as UTF-8.
+ * Example:
+ * <pre>
+ * {@code
+ * try (PgnReader reader = new PgnReader(Files.newInputStream(path))) {
+ *     while (reader.readGame(visitor)) {
+ *         // the visitor has received the game
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * <p>The reader is lenient: unknown characters are skipped, lines starting with "%" are ignored,
+ * and a game without a result ends at the next header or at the end of the input.
+ *
+ * @see <a href="https://www.thechessdrum.net/PGN_Reference.txt">PGN Format</a>
+ */
+public class PgnReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int EOF = -1;
+
+    /**
+     * The move annotations in the order of their NAGs, starting with 1.
+     */
+    private static final String[] ANNOTATIONS = {"!", "?", "!!", "??", "!?", "?!"};
+
+    private final ReadableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer byteBuffer;
+    private int position;
+    private int limit;
+    private int previous = '\n';
+    private boolean lineStart;
+
+    private byte[] token = new byte[256];
+    private int tokenLength;
+
+    /**
+     * Creates a reader for the given stream.
+     *
+     * @param in The stream to read the games from.
+     */
+    public PgnReader(InputStream in) {
+        this(Channels.newChannel(in));
+    }
+
+    /**
+     * Creates a reader for the given channel.
+     *
+     * @param channel The channel to read the games from, it must be in blocking mode.
+     */
+    public PgnReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.byteBuffer = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * Reads the next game and reports it to the visitor.
+     *
+     * @param visitor The visitor that receives the parts of the game.
+     * @return True if a game was read, false if the end of the input is reached.
+     * @throws IOException If the input cannot be read.
+     */
+    public boolean readGame(PgnVisitor visitor) throws IOException {
+        boolean started = false;
+        boolean movetext = false;
+        int depth = 0;
+        String result = null;
+
+        while (result == null) {
+            int c = read();
+            if (c == EOF) {
+                break;
+            }
+            if (c == '%' && lineStart) {
+                skipLine();
+                continue;
+            }
+            if (!isToken(c)) {
+                continue;
+            }
+            if (c == '[' && movetext) {
+                // the next game starts, this game has no result
+                unread(c);
+                break;
+            }
+
+            if (!started) {
+                visitor.beginGame();
+                started = true;
+            }
+            if (c == '[') {
+                readHeader(visitor);
+                continue;
+            }
+            if (!movetext) {
+                visitor.endHeaders();
+                movetext = true;
+            }
+
+            switch (c) {
+                case '{':
+                    visitor.comment(readUntil('}'));
+                    break;
+                case ';':
+                    visitor.comment(readUntil('\n'));
+                    break;
+                case '(':
+                    depth++;
+                    visitor.beginVariation();
+                    break;
+                case ')':
+                    if (depth > 0) {
+                        depth--;
+                        visitor.endVariation();
+                    }
+                    break;
+                case '$':
+                    readNag(visitor);
+                    break;
+                case '!':
+                case '?':
+                    readAnnotation(c, visitor);
+                    break;
+                case '*':
+                    if (depth == 0) {
+                        result = "*";
+                    }
+                    break;
+                default:
+                    result = readSymbol(c, depth, visitor);
+                    break;
+            }
+        }
+
+        if (!started) {
+            return false;
+        }
+        if (!movetext) {
+            visitor.endHeaders();
+        }
+        for (; depth > 0; depth--) {
+            visitor.endVariation();
+        }
+        visitor.endGame(result);
+        return true;
+    }
+
+    /**
+     * Closes the underlying channel.
+     *
+     * @throws IOException If the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads a header after the opening bracket, e.g. {@code [White "Kasparov, Garry"]}.
+     */
+    private void readHeader(PgnVisitor visitor) throws IOException {
+        int c = skipSpaces(read());
+        tokenLength = 0;
+        while (c != EOF && c > ' ' && c != '"' && c != ']') {
+            append(c);
+            c = read();
+        }
+        String name = tokenString();
+
+        c = skipSpaces(c);
+        tokenLength = 0;
+        if (c == '"') {
+            c = read();
+            while (c != EOF && c != '"' && c != '\n') {
+                if (c == '\\') {
+                    c = read();
+                    if (c == EOF) {
+                        break;
+                    }
+                }
+                append(c);
+                c = read();
+            }
+            if (c == '"') {
+                c = read();
+            }
+        }
+        while (c != EOF && c != ']' && c != '\n') {
+            c = read();
+        }
+
+        visitor.header(name, tokenString());
+    }
+
+    /**
+     * Reads the text until the given delimiter or the end of the input.
+     *
+     * @param delimiter The delimiter that is consumed.
+     * @return The text without surrounding whitespace.
+     */
+    private String readUntil(int delimiter) throws IOException {
+        tokenLength = 0;
+        int c = read();
+        while (c != EOF && c != delimiter) {
+            append(c);
+            c = read();
+        }
+        return tokenString().trim();
+    }
+
+    private void readNag(PgnVisitor visitor) throws IOException {
+        int nag = 0;
+        int digits = 0;
+        int c = read();
+        while (c >= '0' && c <= '9' && digits < 9) {
+            nag = 10 * nag + c - '0';
+            digits++;
+            c = read();
+        }
+        unread(c);
+
+        if (digits > 0) {
+            visitor.nag(nag);
+        }
+    }
+
+    private void readAnnotation(int first, PgnVisitor visitor) throws IOException {
+        tokenLength = 0;
+        append(first);
+        int c = read();
+        while (c == '!' || c == '?') {
+            append(c);
+            c = read();
+        }
+        unread(c);
+
+        int nag = Arrays.asList(ANNOTATIONS).indexOf(tokenString()) + 1;
+        if (nag > 0) {
+            visitor.nag(nag);
+        }
+    }
+
+    /**
+     * Reads a move, a move number or a result.
+     *
+     * @param first The first character of the symbol.
+     * @param depth The depth of the variations.
+     * @param visitor The visitor that receives moves.
+     * @return The result if the symbol ends the game, otherwise null.
+     */
+    private String readSymbol(int first, int depth, PgnVisitor visitor) throws IOException {
+        tokenLength = 0;
+        int c = first;
+        boolean digits = true;
+        while (isSymbol(c)) {
+            digits &= c >= '0' && c <= '9';
+            append(c);
+            c = read();
+        }
+        unread(c);
+
+        if (digits) {
+            // move numbers are skipped, the dots are separators
+            return null;
+        }
+
+        String symbol = tokenString();
+        if (symbol.equals("1-0") || symbol.equals("0-1") || symbol.equals("1/2-1/2")) {
+            return depth == 0 ? symbol : null;
+        }
+        visitor.move(symbol);
+        return null;
+    }
+
+    private void skipLine() throws IOException {
+        int c = read();
+        while (c != EOF && c != '\n') {
+            c = read();
+        }
+    }
+
+    private int skipSpaces(int c) throws IOException {
+        while (c == ' ' || c == '\t') {
+            c = read();
+        }
+        return c;
+    }
+
+    private static boolean isToken(int c) {
+        switch (c) {
+            case '[':
+            case '{':
+            case ';':
+            case '(':
+            case ')':
+            case '$':
+            case '!':
+            case '?':
+            case '*':
+                return true;
+            default:
+                return isSymbol(c);
+        }
+    }
+
+    private static boolean isSymbol(int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' ||
+               c == '+' || c == '#' || c == '=' || c == '-' || c == ':' || c == '/' || c == '@';
+    }
+
+    private void append(int c) {
+        if (tokenLength == token.length) {
+            token = Arrays.copyOf(token, 2 * token.length);
+        }
+        token[tokenLength++] = (byte) c;
+    }
+
+    private String tokenString() {
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the next byte.
+     *
+     * @return The byte as unsigned value, or -1 at the end of the input.
+     */
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        lineStart = previous == '\n' || previous == '\r';
+        previous = buffer[position++] & 0xFF;
+        return previous;
+    }
+
+    /**
+     * Returns the last byte to the input, so it is read again.
+     *
+     * @param c The last byte, nothing is done at the end of the input.
+     */
+    private void unread(int c) {
+        if (c != EOF) {
+            position--;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        byteBuffer.clear();
+        int count;
+        do {
+            count = channel.read(byteBuffer);
+        } while (count == 0);
+
+        position = 0;
+        limit = Math.max(count, 0);
+        return count > 0;
+    }
+}
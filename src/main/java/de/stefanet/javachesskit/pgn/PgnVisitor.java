@@ -0,0 +1,81 @@
+package de.stefanet.javachesskit.pgn;
+
+/**
+ * Receives the parts of the games read by a {@link PgnReader}.
+ *
+ * <p>The methods are called in the order of the game: {@link #beginGame()}, the headers,
+ * {@link #endHeaders()}, the movetext and {@link #endGame(String)}.
+ * All methods do nothing by default, so a visitor only overrides the parts it needs.
+ */
+public interface PgnVisitor {
+
+    /**
+     * Called at the start of a game.
+     */
+    default void beginGame() {
+    }
+
+    /**
+     * Called for each header (tag pair) of a game.
+     *
+     * @param name  The name of the header, e.g. "White".
+     * @param value The value of the header without quotes and escapes.
+     */
+    default void header(String name, String value) {
+    }
+
+    /**
+     * Called after the headers, before the movetext of a game.
+     */
+    default void endHeaders() {
+    }
+
+    /**
+     * Called for each move in standard algebraic notation.
+     *
+     * <p>Moves inside variations are reported as well, between {@link #beginVariation()} and
+     * {@link #endVariation()}. A visitor that replays the main line must skip them.
+     *
+     * @param san The move, e.g. "Nf3" or "O-O". Annotations like "!" are reported as NAGs.
+     */
+    default void move(String san) {
+    }
+
+    /**
+     * Called for each comment, in braces or until the end of the line.
+     *
+     * @param comment The comment without delimiters and surrounding whitespace.
+     */
+    default void comment(String comment) {
+    }
+
+    /**
+     * Called for each numeric annotation glyph (NAG).
+     * Move annotations are converted, e.g. "!" to 1 and "?!" to 6.
+     *
+     * @param nag The number of the annotation glyph.
+     */
+    default void nag(int nag) {
+    }
+
+    /**
+     * Called at the start of a variation. The following moves are an alternative to the last move.
+     */
+    default void beginVariation() {
+    }
+
+    /**
+     * Called at the end of a variation.
+     */
+    default void endVariation() {
+    }
+
+    /**
+     * Called at the end of a game.
+     *
+     * @param result The result token of the movetext ("1-0", "0-1", "1/2-1/2" or "*"),
+     *               or null if the game ended without one.
+     */
+    default void endGame(String result) {
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Streaming reader for games in the portable game notation (PGN).
+ */
+package de.stefanet.javachesskit.pgn;
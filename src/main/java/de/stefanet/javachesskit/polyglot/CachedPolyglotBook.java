@@ -0,0 +1,283 @@
+package de.stefanet.javachesskit.polyglot;
+
+import de.stefanet.javachesskit.Board;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache in front of a {@link PolyglotBook}.
+ *
+ * <p>The decoded entries of a position are cached by its Zobrist key, so repeated lookups of the same
+ * position skip both the binary search in the book and the decoding of the moves. Positions that are
+ * not in the book are cached as well.
+ *
+ * <p>The cache is split into segments with their own lock, so it can be shared by many threads.
+ * Each segment stores its keys and entry lists in arrays with an open-addressing index and evicts
+ * with the CLOCK algorithm: a hit marks the position as referenced, and the eviction skips referenced
+ * positions once, so frequently used positions stay in the cache.
+ * Example:
+ * <pre>
+ * {@code
+ * CachedPolyglotBook book = new CachedPolyglotBook(new PolyglotBook(Paths.get("book.bin")), 4096);
+ * PolyglotEntry entry = book.weightedChoice(board, ThreadLocalRandom.current());
+ * }
+ * </pre>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Page_replacement_algorithm#Clock">CLOCK page replacement</a>
+ */
+public class CachedPolyglotBook {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final PolyglotBook book;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache for the given book.
+     *
+     * @param book     The book.
+     * @param capacity The maximum number of cached positions.
+     * @throws IllegalArgumentException If the capacity is not positive or larger than 2^28.
+     */
+    public CachedPolyglotBook(PolyglotBook book, int capacity) {
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.book = book;
+
+        int segmentCount = Integer.highestOneBit(Math.min(capacity, MAX_SEGMENTS));
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            // distribute the capacity exactly, the first segments get the remainder
+            segments[i] = new Segment(capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Gets the book behind the cache.
+     *
+     * @return The book.
+     */
+    public PolyglotBook getBook() {
+        return book;
+    }
+
+    /**
+     * Finds all entries of the given position, from the cache if possible.
+     *
+     * @param board The position.
+     * @return The entries of the position as an unmodifiable list, an empty list if the position is not in the book.
+     * @see PolyglotBook#findAll(Board)
+     */
+    public List<PolyglotEntry> findAll(Board board) {
+        long key = board.getZobristKey();
+        Segment segment = segments[(int) (key >>> 32) & segmentMask];
+
+        List<PolyglotEntry> entries = segment.get(key);
+        if (entries != null) {
+            hits.increment();
+            return entries;
+        }
+
+        misses.increment();
+        entries = Collections.unmodifiableList(book.findAll(board));
+        segment.put(key, entries);
+        return entries;
+    }
+
+    /**
+     * Finds the entry with the highest weight of the given position, from the cache if possible.
+     *
+     * @param board The position.
+     * @return The entry with the highest weight, or null if the position is not in the book.
+     * @see PolyglotBook#find(Board)
+     */
+    public PolyglotEntry find(Board board) {
+        return PolyglotBook.best(findAll(board));
+    }
+
+    /**
+     * Chooses a random entry of the given position, from the cache if possible.
+     *
+     * @param board  The position.
+     * @param random The source of randomness.
+     * @return The chosen entry, or null if the position is not in the book or all weights are 0.
+     * @see PolyglotBook#weightedChoice(Board, Random)
+     */
+    public PolyglotEntry weightedChoice(Board board, Random random) {
+        return PolyglotBook.weightedChoice(findAll(board), random);
+    }
+
+    /**
+     * Gets the number of lookups that were answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to search the book.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of cached positions.
+     *
+     * @return The number of cached positions.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes all cached positions and resets the hit and miss counters.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * A part of the cache with its own lock.
+     *
+     * <p>The positions are stored in slots. The index is a linear probing hash table that maps the keys
+     * to their slots, it stores the slot plus one, so 0 marks an empty bucket.
+     */
+    private static final class Segment {
+        private final long[] keys;
+        private final Object[] values;
+        private final boolean[] referenced;
+        private final int[] index;
+        private final int indexMask;
+        private int size;
+        private int hand;
+
+        Segment(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.referenced = new boolean[capacity];
+            // at most half of the buckets are used, which keeps the probe sequences short
+            this.index = new int[Integer.highestOneBit(capacity) * 4];
+            this.indexMask = index.length - 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized List<PolyglotEntry> get(long key) {
+            int bucket = find(key);
+            if (index[bucket] == 0) {
+                return null;
+            }
+            int slot = index[bucket] - 1;
+            referenced[slot] = true;
+            return (List<PolyglotEntry>) values[slot];
+        }
+
+        synchronized void put(long key, List<PolyglotEntry> entries) {
+            int bucket = find(key);
+            if (index[bucket] != 0) {
+                // another thread has cached the position in the meantime
+                return;
+            }
+
+            int slot;
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                slot = evict();
+                bucket = find(key);
+            }
+            keys[slot] = key;
+            values[slot] = entries;
+            referenced[slot] = false;
+            index[bucket] = slot + 1;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(values, null);
+            Arrays.fill(index, 0);
+            size = 0;
+            hand = 0;
+        }
+
+        /**
+         * Finds the bucket of the given key.
+         *
+         * @param key The key.
+         * @return The bucket of the key, or the empty bucket where the key would be inserted.
+         */
+        private int find(long key) {
+            int bucket = bucket(key);
+            while (index[bucket] != 0 && keys[index[bucket] - 1] != key) {
+                bucket = (bucket + 1) & indexMask;
+            }
+            return bucket;
+        }
+
+        /**
+         * Evicts the first position of the clock that is not referenced.
+         * Referenced positions lose their mark and get a second chance.
+         *
+         * @return The free slot.
+         */
+        private int evict() {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = (hand + 1) % keys.length;
+            }
+            int slot = hand;
+            hand = (hand + 1) % keys.length;
+            remove(find(keys[slot]));
+            values[slot] = null;
+            return slot;
+        }
+
+        /**
+         * Removes the given bucket from the index.
+         * The following buckets of the probe sequence are shifted back, so no tombstones are needed.
+         *
+         * @param hole The bucket to remove.
+         */
+        private void remove(int hole) {
+            int bucket = hole;
+            while (true) {
+                bucket = (bucket + 1) & indexMask;
+                if (index[bucket] == 0) {
+                    break;
+                }
+                int home = bucket(keys[index[bucket] - 1]);
+                if (((bucket - home) & indexMask) >= ((bucket - hole) & indexMask)) {
+                    index[hole] = index[bucket];
+                    hole = bucket;
+                }
+            }
+            index[hole] = 0;
+        }
+
+        private int bucket(long key) {
+            return (int) key & indexMask;
+        }
+    }
+}
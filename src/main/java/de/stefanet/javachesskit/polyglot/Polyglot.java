@@ -210,7 +210,7 @@ public final class Polyglot {
     }
 
     public static long zobristHash(Board board) {
-        return zobristHash(board, new ZobristHasher()::hash);
+        return board.getZobristKey();
     }
 
     public static long zobristHash(Board board, Function<Board, Long> hashFunction) {
@@ -0,0 +1,268 @@
+package de.stefanet.javachesskit.polyglot;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.core.PieceType;
+import de.stefanet.javachesskit.core.Square;
+import de.stefanet.javachesskit.move.Move;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reader for opening books in the Polyglot format.
+ *
+ * <p>The book file is memory-mapped, so the entries are read directly from the page cache and
+ * the book does not need any heap memory. The entries are sorted by key, so the moves of a position
+ * are found with a binary search. A book can be shared by many threads.
+ * Example:
+ * <pre>
+ * {@code
+ * PolyglotBook book = new PolyglotBook(Paths.get("book.bin"));
+ * PolyglotEntry entry = book.weightedChoice(board, new Random());
+ * if (entry != null) {
+ *     board.push(entry.getMove());
+ * }
+ * }
+ * </pre>
+ *
+ * @see <a href="http://hgm.nubati.net/book_format.html">Polyglot book format</a>
+ */
+public class PolyglotBook {
+    static final int ENTRY_SIZE = 16;
+    private static final int SEGMENT_ENTRIES = 1 << 26;
+
+    private static final PieceType[] PROMOTIONS = {
+            null, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN
+    };
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    /**
+     * Opens the book file and maps it into memory.
+     *
+     * <p>Files larger than 2 GB are mapped in several segments. The mapping stays valid until the book
+     * is garbage collected, the file is not kept open.
+     *
+     * @param path The path of the book file.
+     * @throws IOException If the file cannot be read or its size is not a multiple of 16 bytes.
+     */
+    public PolyglotBook(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % ENTRY_SIZE != 0) {
+                throw new IOException("Invalid Polyglot book, size is not a multiple of 16 bytes: " + bytes);
+            }
+
+            this.size = bytes / ENTRY_SIZE;
+            this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_ENTRIES - 1) / SEGMENT_ENTRIES)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i * SEGMENT_ENTRIES * ENTRY_SIZE;
+                long length = Math.min((long) SEGMENT_ENTRIES * ENTRY_SIZE, bytes - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entries in the book.
+     *
+     * @return The number of entries.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Finds all entries of the given position.
+     *
+     * <p>The entries are in the order of the book. Entries with moves that are not legal in the position
+     * or cannot be decoded are skipped.
+     *
+     * @param board The position.
+     * @return The entries of the position, an empty list if the position is not in the book.
+     */
+    public List<PolyglotEntry> findAll(Board board) {
+        long key = board.getZobristKey();
+        List<PolyglotEntry> entries = new ArrayList<>();
+
+        for (long index = lowerBound(key); index < size && key(index) == key; index++) {
+            int rawMove = rawMove(index);
+            Move move = decodeMove(rawMove, board);
+            if (move != null && board.isLegal(move)) {
+                entries.add(new PolyglotEntry(key, rawMove, weight(index), learn(index), move));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Finds the entry with the highest weight of the given position.
+     *
+     * <p>Entries with weight 0 are never returned. If several entries have the highest weight,
+     * the first one of the book is returned.
+     *
+     * @param board The position.
+     * @return The entry with the highest weight, or null if the position is not in the book.
+     */
+    public PolyglotEntry find(Board board) {
+        return best(findAll(board));
+    }
+
+    /**
+     * Chooses a random entry of the given position. The probability of an entry is proportional to its weight.
+     *
+     * @param board  The position.
+     * @param random The source of randomness.
+     * @return The chosen entry, or null if the position is not in the book or all weights are 0.
+     */
+    public PolyglotEntry weightedChoice(Board board, Random random) {
+        return weightedChoice(findAll(board), random);
+    }
+
+    /**
+     * Chooses a random entry. The probability of an entry is proportional to its weight.
+     *
+     * @param entries The entries of a position.
+     * @param random  The source of randomness.
+     * @return The chosen entry, or null if there are no entries or all weights are 0.
+     */
+    static PolyglotEntry weightedChoice(List<PolyglotEntry> entries, Random random) {
+        int total = 0;
+        for (PolyglotEntry entry : entries) {
+            total += entry.getWeight();
+        }
+        if (total == 0) {
+            return null;
+        }
+
+        int choice = random.nextInt(total);
+        for (PolyglotEntry entry : entries) {
+            choice -= entry.getWeight();
+            if (choice < 0) {
+                return entry;
+            }
+        }
+        throw new IllegalStateException("Weights changed during the choice");
+    }
+
+    /**
+     * Finds the entry with the highest weight, the first one if several entries have the highest weight.
+     *
+     * @param entries The entries of a position.
+     * @return The entry with the highest weight, or null if there is no entry with a weight greater than 0.
+     */
+    static PolyglotEntry best(List<PolyglotEntry> entries) {
+        PolyglotEntry best = null;
+        for (PolyglotEntry entry : entries) {
+            if (entry.getWeight() > 0 && (best == null || entry.getWeight() > best.getWeight())) {
+                best = entry;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Decodes a move of a Polyglot book.
+     *
+     * <p>Castling is stored as the king capturing its own rook, it is converted to the move of the king
+     * if the king of the side to move stands on the source square.
+     *
+     * @param rawMove The move as stored in the book.
+     * @param board   The position of the move.
+     * @return The decoded move, or null if the promotion is invalid or its target is not on a back rank.
+     */
+    static Move decodeMove(int rawMove, Board board) {
+        int target = rawMove & 0x3F;
+        int source = (rawMove >>> 6) & 0x3F;
+        int promotion = (rawMove >>> 12) & 0x7;
+
+        if (promotion != 0) {
+            if (promotion >= PROMOTIONS.length || target >= 8 && target < 56) {
+                return null;
+            }
+            return Move.of(Square.fromIndex(source), Square.fromIndex(target), PROMOTIONS[promotion]);
+        }
+
+        if ((source == Square.E1.ordinal() || source == Square.E8.ordinal()) &&
+            board.pieceTypeAt(Square.fromIndex(source)) == PieceType.KING) {
+            if (target == source + 3) {
+                target = source + 2;
+            } else if (target == source - 4) {
+                target = source - 2;
+            }
+        }
+        return Move.of(Square.fromIndex(source), Square.fromIndex(target));
+    }
+
+    /**
+     * Encodes a move for a Polyglot book.
+     *
+     * <p>Castling is encoded as the king capturing its own rook.
+     *
+     * @param move  The move.
+     * @param board The position of the move.
+     * @return The move as stored in the book.
+     */
+    static int encodeMove(Move move, Board board) {
+        int source = move.getSource().ordinal();
+        int target = move.getTarget().ordinal();
+
+        if (board.isCastling(move) && Math.abs(target - source) == 2) {
+            target = target > source ? source + 3 : source - 4;
+        }
+
+        int promotion = move.getPromotion() == null ? 0 : Arrays.asList(PROMOTIONS).indexOf(move.getPromotion());
+        return promotion << 12 | source << 6 | target;
+    }
+
+    /**
+     * Finds the index of the first entry with a key that is not less than the given key.
+     *
+     * @param key The key, compared as unsigned value like in the book.
+     * @return The index of the first entry with the key or a greater key, the size of the book if there is none.
+     */
+    private long lowerBound(long key) {
+        long low = 0;
+        long high = size;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(key(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long key(long index) {
+        return segment(index).getLong(offset(index));
+    }
+
+    private int rawMove(long index) {
+        return segment(index).getShort(offset(index) + 8) & 0xFFFF;
+    }
+
+    private int weight(long index) {
+        return segment(index).getShort(offset(index) + 10) & 0xFFFF;
+    }
+
+    private int learn(long index) {
+        return segment(index).getInt(offset(index) + 12);
+    }
+
+    private MappedByteBuffer segment(long index) {
+        return segments[(int) (index / SEGMENT_ENTRIES)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index % SEGMENT_ENTRIES) * ENTRY_SIZE;
+    }
+}
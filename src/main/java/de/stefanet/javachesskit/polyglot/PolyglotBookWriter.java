@@ -0,0 +1,437 @@
+package de.stefanet.javachesskit.polyglot;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writer for opening books in the Polyglot format.
+ *
+ * <p>Entries can be added in any order. They are collected in primitive arrays; when the number of
+ * entries in memory exceeds the limit, they are sorted and written to a temporary file (a run).
+ * Closing the writer merges all runs with a k-way merge into the book file, so building a book
+ * from millions of positions needs only the memory of one run.
+ *
+ * <p>Entries with the same key and move are combined: their weights are summed and capped at 65535,
+ * the learn value of the first entry is kept. The entries of a position are written with the
+ * highest weight first.
+ * Example:
+ * <pre>
+ * {@code
+ * try (PolyglotBookWriter writer = new PolyglotBookWriter(Paths.get("book.bin"))) {
+ *     writer.add(board, move, 1);
+ * }
+ * }
+ * </pre>
+ */
+public class PolyglotBookWriter implements Closeable {
+    /**
+     * The default number of entries that are kept in memory, which needs about 32 MB.
+     */
+    public static final int DEFAULT_MAX_ENTRIES_IN_MEMORY = 1 << 20;
+
+    private static final int MAX_WEIGHT = 0xFFFF;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final Path tempDirectory;
+    private final List<Path> runs = new ArrayList<>();
+
+    // each entry is stored as two longs: the key and the payload (move << 48 | weight << 32 | learn)
+    private long[] entries;
+    private long[] sortBuffer;
+    private int size;
+    private boolean closed;
+
+    /**
+     * Creates a writer with the default memory limit that writes its runs to the default temporary directory.
+     *
+     * @param path The path of the book file.
+     */
+    public PolyglotBookWriter(Path path) {
+        this(path, DEFAULT_MAX_ENTRIES_IN_MEMORY, null);
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param path               The path of the book file.
+     * @param maxEntriesInMemory The number of entries that are kept in memory before a run is written,
+     *                           each entry needs 32 bytes.
+     * @param tempDirectory      The directory of the runs, or null for the default temporary directory.
+     * @throws IllegalArgumentException If the number of entries is less than 1.
+     */
+    public PolyglotBookWriter(Path path, int maxEntriesInMemory, Path tempDirectory) {
+        if (maxEntriesInMemory < 1) {
+            throw new IllegalArgumentException("Max entries in memory must be at least 1: " + maxEntriesInMemory);
+        }
+        this.path = path;
+        this.tempDirectory = tempDirectory;
+        this.entries = new long[2 * maxEntriesInMemory];
+        this.sortBuffer = new long[2 * maxEntriesInMemory];
+    }
+
+    /**
+     * Adds a move of the given position.
+     *
+     * @param board  The position.
+     * @param move   The move, castling is encoded as the king capturing its own rook.
+     * @param weight The weight, from 0 to 65535.
+     * @throws IOException              If a run cannot be written.
+     * @throws IllegalArgumentException If the weight is out of range.
+     * @throws IllegalStateException    If the writer is closed.
+     */
+    public void add(Board board, Move move, int weight) throws IOException {
+        add(board.getZobristKey(), PolyglotBook.encodeMove(move, board), weight, 0);
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param key     The Zobrist key of the position.
+     * @param rawMove The move as stored in the book.
+     * @param weight  The weight, from 0 to 65535.
+     * @param learn   The learn value.
+     * @throws IOException              If a run cannot be written.
+     * @throws IllegalArgumentException If the move or the weight is out of range.
+     * @throws IllegalStateException    If the writer is closed.
+     * @see PolyglotEntry#getRawMove()
+     */
+    public void add(long key, int rawMove, int weight, int learn) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        if (rawMove < 0 || rawMove > 0x7FFF) {
+            throw new IllegalArgumentException("Invalid move: " + rawMove);
+        }
+        if (weight < 0 || weight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("Weight must be between 0 and 65535: " + weight);
+        }
+
+        int capacity = entries.length / 2;
+        if (size == capacity) {
+            // keep combining in memory while duplicates free at least half of the buffer
+            sortAndCombine();
+            if (size > capacity / 2) {
+                writeRun();
+            }
+        }
+        entries[2 * size] = key;
+        entries[2 * size + 1] = (long) rawMove << 48 | (long) weight << 32 | learn & 0xFFFFFFFFL;
+        size++;
+    }
+
+    /**
+     * Gets the number of runs that were written to temporary files so far.
+     *
+     * @return The number of runs.
+     */
+    int runCount() {
+        return runs.size();
+    }
+
+    /**
+     * Writes the book file and deletes the runs.
+     *
+     * @throws IOException If the book cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            sortAndCombine();
+            if (!runs.isEmpty() && size > 0) {
+                writeRun();
+            }
+
+            try (DataOutputStream out = openOutput(path)) {
+                EntryWriter writer = new EntryWriter(out);
+                if (runs.isEmpty()) {
+                    for (int i = 0; i < size; i++) {
+                        writer.add(entries[2 * i], entries[2 * i + 1]);
+                    }
+                } else {
+                    mergeRuns(writer);
+                }
+                writer.flush();
+            }
+        } finally {
+            entries = null;
+            sortBuffer = null;
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Sorts the entries in memory by key and move and combines the entries with the same key and move.
+     */
+    private void sortAndCombine() {
+        mergeSort();
+
+        int combined = 0;
+        for (int i = 0; i < size; i++) {
+            long key = entries[2 * i];
+            long payload = entries[2 * i + 1];
+            if (combined > 0 && compare(entries[2 * combined - 2], entries[2 * combined - 1], key, payload) == 0) {
+                entries[2 * combined - 1] = addWeight(entries[2 * combined - 1], weight(payload));
+            } else {
+                entries[2 * combined] = key;
+                entries[2 * combined + 1] = payload;
+                combined++;
+            }
+        }
+        size = combined;
+    }
+
+    /**
+     * Sorts the entries in memory with a bottom-up merge sort.
+     */
+    private void mergeSort() {
+        long[] source = entries;
+        long[] target = sortBuffer;
+
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size; low += 2 * width) {
+                int middle = Math.min(low + width, size);
+                int high = Math.min(low + 2 * width, size);
+                int left = low;
+                int right = middle;
+
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high ||
+                                          compare(source[2 * left], source[2 * left + 1],
+                                                  source[2 * right], source[2 * right + 1]) <= 0)) {
+                        target[2 * i] = source[2 * left];
+                        target[2 * i + 1] = source[2 * left + 1];
+                        left++;
+                    } else {
+                        target[2 * i] = source[2 * right];
+                        target[2 * i + 1] = source[2 * right + 1];
+                        right++;
+                    }
+                }
+            }
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        entries = source;
+        sortBuffer = target;
+    }
+
+    /**
+     * Writes the sorted entries in memory to a new run.
+     *
+     * @throws IOException If the run cannot be written.
+     */
+    private void writeRun() throws IOException {
+        Path run = tempDirectory == null ?
+                   Files.createTempFile("polyglot", ".run") :
+                   Files.createTempFile(tempDirectory, "polyglot", ".run");
+        runs.add(run);
+
+        try (DataOutputStream out = openOutput(run)) {
+            for (int i = 0; i < size; i++) {
+                writeEntry(out, entries[2 * i], entries[2 * i + 1]);
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Merges all runs into the given writer.
+     *
+     * @param writer The writer of the book.
+     * @throws IOException If a run cannot be read.
+     */
+    private void mergeRuns(EntryWriter writer) throws IOException {
+        int count = runs.size();
+        DataInputStream[] inputs = new DataInputStream[count];
+        long[] keys = new long[count];
+        long[] payloads = new long[count];
+        int[] heap = new int[count];
+        int heapSize = 0;
+
+        try {
+            for (int run = 0; run < count; run++) {
+                inputs[run] = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(runs.get(run)), BUFFER_SIZE));
+                if (readEntry(inputs[run], keys, payloads, run)) {
+                    heap[heapSize++] = run;
+                    siftUp(heap, heapSize - 1, keys, payloads);
+                }
+            }
+
+            while (heapSize > 0) {
+                int run = heap[0];
+                writer.add(keys[run], payloads[run]);
+
+                if (!readEntry(inputs[run], keys, payloads, run)) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, keys, payloads);
+            }
+        } finally {
+            for (DataInputStream input : inputs) {
+                if (input != null) {
+                    input.close();
+                }
+            }
+        }
+    }
+
+    private static void siftUp(int[] heap, int index, long[] keys, long[] payloads) {
+        int run = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compareRuns(heap[parent], run, keys, payloads) < 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = run;
+    }
+
+    private static void siftDown(int[] heap, int heapSize, long[] keys, long[] payloads) {
+        if (heapSize == 0) {
+            return;
+        }
+        int run = heap[0];
+        int index = 0;
+        while (2 * index + 1 < heapSize) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heapSize && compareRuns(heap[right], heap[child], keys, payloads) < 0) {
+                child = right;
+            }
+            if (compareRuns(run, heap[child], keys, payloads) < 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = run;
+    }
+
+    /**
+     * Compares the current entries of two runs, equal entries are ordered by run, so the entry
+     * that was added first comes first.
+     */
+    private static int compareRuns(int runA, int runB, long[] keys, long[] payloads) {
+        int result = compare(keys[runA], payloads[runA], keys[runB], payloads[runB]);
+        return result != 0 ? result : Integer.compare(runA, runB);
+    }
+
+    private static boolean readEntry(DataInputStream in, long[] keys, long[] payloads, int run) throws IOException {
+        long key;
+        try {
+            key = in.readLong();
+        } catch (EOFException e) {
+            return false;
+        }
+        int move = in.readUnsignedShort();
+        int weight = in.readUnsignedShort();
+        int learn = in.readInt();
+        keys[run] = key;
+        payloads[run] = (long) move << 48 | (long) weight << 32 | learn & 0xFFFFFFFFL;
+        return true;
+    }
+
+    private static void writeEntry(DataOutputStream out, long key, long payload) throws IOException {
+        out.writeLong(key);
+        out.writeShort((int) (payload >>> 48));
+        out.writeShort(weight(payload));
+        out.writeInt((int) payload);
+    }
+
+    private static DataOutputStream openOutput(Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+    }
+
+    /**
+     * Compares two entries by key (unsigned) and move.
+     */
+    private static int compare(long keyA, long payloadA, long keyB, long payloadB) {
+        int result = Long.compareUnsigned(keyA, keyB);
+        return result != 0 ? result : Long.compare(payloadA >>> 48, payloadB >>> 48);
+    }
+
+    private static int weight(long payload) {
+        return (int) (payload >>> 32) & MAX_WEIGHT;
+    }
+
+    private static long addWeight(long payload, int weight) {
+        int sum = Math.min(weight(payload) + weight, MAX_WEIGHT);
+        return payload & ~((long) MAX_WEIGHT << 32) | (long) sum << 32;
+    }
+
+    /**
+     * Writes the sorted entries to the book, combines entries with the same key and move and orders
+     * the moves of each position by weight.
+     */
+    private static final class EntryWriter {
+        private final DataOutputStream out;
+        private long[] group = new long[64];
+        private int groupSize;
+        private long groupKey;
+
+        EntryWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void add(long key, long payload) throws IOException {
+            if (groupSize > 0 && key == groupKey) {
+                long last = group[groupSize - 1];
+                if (last >>> 48 == payload >>> 48) {
+                    group[groupSize - 1] = addWeight(last, weight(payload));
+                    return;
+                }
+            } else {
+                flush();
+                groupKey = key;
+            }
+
+            if (groupSize == group.length) {
+                long[] grown = new long[group.length * 2];
+                System.arraycopy(group, 0, grown, 0, groupSize);
+                group = grown;
+            }
+            group[groupSize++] = payload;
+        }
+
+        void flush() throws IOException {
+            // insertion sort by weight, descending and stable
+            for (int i = 1; i < groupSize; i++) {
+                long payload = group[i];
+                int j = i - 1;
+                while (j >= 0 && weight(group[j]) < weight(payload)) {
+                    group[j + 1] = group[j];
+                    j--;
+                }
+                group[j + 1] = payload;
+            }
+            for (int i = 0; i < groupSize; i++) {
+                writeEntry(out, groupKey, group[i]);
+            }
+            groupSize = 0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package de.stefanet.javachesskit.polyglot;
+
+import de.stefanet.javachesskit.move.Move;
+
+/**
+ * An entry of a Polyglot opening book.
+ *
+ * <p>In the book file each entry is stored as 16 bytes in big-endian order: the Zobrist key of the
+ * position (8 bytes), the move (2 bytes), the weight (2 bytes) and the learn value (4 bytes).
+ */
+public final class PolyglotEntry {
+    private final long key;
+    private final int rawMove;
+    private final int weight;
+    private final int learn;
+    private final Move move;
+
+    /**
+     * Creates a new entry.
+     *
+     * @param key     The Zobrist key of the position.
+     * @param rawMove The move as stored in the book, castling is encoded as the king capturing its own rook.
+     * @param weight  The weight of the move, an unsigned 16 bit value.
+     * @param learn   The learn value.
+     * @param move    The decoded move.
+     */
+    PolyglotEntry(long key, int rawMove, int weight, int learn, Move move) {
+        this.key = key;
+        this.rawMove = rawMove;
+        this.weight = weight;
+        this.learn = learn;
+        this.move = move;
+    }
+
+    /**
+     * Gets the Zobrist key of the position.
+     *
+     * @return The Zobrist key.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the move as stored in the book.
+     *
+     * <p>The bits 0-5 contain the target square, the bits 6-11 the source square and the bits 12-14
+     * the promotion (0 for none, 1 for a knight up to 4 for a queen).
+     * Castling is encoded as the king capturing its own rook.
+     *
+     * @return The raw move.
+     */
+    public int getRawMove() {
+        return rawMove;
+    }
+
+    /**
+     * Gets the weight of the move. The higher the weight, the more often the move should be played.
+     *
+     * @return The weight, from 0 to 65535.
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the learn value of the entry.
+     *
+     * @return The learn value.
+     */
+    public int getLearn() {
+        return learn;
+    }
+
+    /**
+     * Gets the decoded move. Castling is converted to the move of the king, e.g. e1g1.
+     *
+     * @return The move.
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PolyglotEntry(key=%016x, move=%s, weight=%d, learn=%d)",
+                             key, move.getUciMove(), weight, learn);
+    }
+}
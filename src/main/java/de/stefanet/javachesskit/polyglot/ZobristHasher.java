@@ -5,7 +5,7 @@ import de.stefanet.javachesskit.Board;
 import de.stefanet.javachesskit.bitboard.Bitboard;
 import de.stefanet.javachesskit.bitboard.BitboardUtils;
 import de.stefanet.javachesskit.core.Color;
-import de.stefanet.javachesskit.core.Piece;
+import de.stefanet.javachesskit.core.PieceType;
 import de.stefanet.javachesskit.core.Square;
 
 /**
@@ -36,11 +36,11 @@ public class ZobristHasher {
     private long hashBoard(BaseBoard board) {
         long hash = 0;
 
-        int[] occupiedIndices = BitboardUtils.scanReversed(board.getOccupied());
-        for (int squareIndex : occupiedIndices) {
-            Square square = Square.fromIndex(squareIndex);
-            Piece piece = board.pieceAt(square);
-            int index = piece.getType().ordinal() * 2 + piece.getColor().other().ordinal();
+        long white = board.getWhitePieces();
+        for (long occupied = board.getOccupied(); occupied != 0; occupied = BitboardUtils.clearLsb(occupied)) {
+            int squareIndex = BitboardUtils.lsb(occupied);
+            PieceType type = board.pieceTypeAt(Square.fromIndex(squareIndex));
+            int index = type.ordinal() * 2 + ((white & Bitboard.SQUARES[squareIndex]) != 0 ? 1 : 0);
             hash ^= this.randomArray[64 * index + squareIndex];
         }
 
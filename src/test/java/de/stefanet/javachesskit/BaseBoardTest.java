@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.stefanet.javachesskit.bitboard.Bitboard;
+import de.stefanet.javachesskit.bitboard.BitboardUtils;
 import de.stefanet.javachesskit.core.Color;
 import de.stefanet.javachesskit.core.Piece;
 import de.stefanet.javachesskit.core.PieceType;
@@ -167,6 +168,42 @@ class BaseBoardTest {
         assertEquals(PieceType.BISHOP, pieceType);
     }
 
+    @Test
+    void testPieceTypeAt_mailboxFollowsBitboards() {
+        BaseBoard board = new BaseBoard("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR");
+        assertPieceTypesMatchBitboards(board);
+
+        board.set(Square.F7, Piece.fromTypeAndColor(PieceType.QUEEN, Color.WHITE));
+        board.removePiece(Square.H5);
+        board.removePiece(Square.E4);
+        assertPieceTypesMatchBitboards(board);
+
+        board.applyMirror();
+        assertPieceTypesMatchBitboards(board);
+
+        board.applyTransform(BitboardUtils::shiftRight);
+        assertPieceTypesMatchBitboards(board);
+        assertPieceTypesMatchBitboards(board.copy());
+
+        board.setBoardFen("8/8/8/8/8/8/8/8");
+        for (Square square : Square.values()) {
+            assertNull(board.pieceTypeAt(square));
+        }
+    }
+
+    private static void assertPieceTypesMatchBitboards(BaseBoard board) {
+        for (Square square : Square.values()) {
+            PieceType expected = null;
+            for (PieceType type : PieceType.values()) {
+                if (((board.pieceMask(type, Color.WHITE) | board.pieceMask(type, Color.BLACK)) &
+                     Bitboard.SQUARES[square.ordinal()]) != 0) {
+                    expected = type;
+                }
+            }
+            assertEquals(expected, board.pieceTypeAt(square), square.toString());
+        }
+    }
+
     @Test
     void testKingSquare() {
         BaseBoard board = new BaseBoard();
@@ -1,5 +1,6 @@
 package de.stefanet.javachesskit;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -17,10 +18,14 @@ import de.stefanet.javachesskit.core.SquareSet;
 import de.stefanet.javachesskit.move.AmbiguousMoveException;
 import de.stefanet.javachesskit.move.IllegalMoveException;
 import de.stefanet.javachesskit.move.Move;
+import de.stefanet.javachesskit.move.MoveList;
+import de.stefanet.javachesskit.move.PackedMove;
 import de.stefanet.javachesskit.polyglot.Polyglot;
+import de.stefanet.javachesskit.polyglot.ZobristHasher;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -868,6 +873,178 @@ class BoardTest {
         assertEquals(0x5c3f9b829b279560L, Polyglot.zobristHash(board));
     }
 
+    @ParameterizedTest
+    @CsvSource({
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3"
+    })
+    void testGetZobristKey_matchesHasher(String fen) {
+        Board board = new Board(fen);
+        ZobristHasher hasher = new ZobristHasher();
+
+        for (Move first : board.legalMoves()) {
+            board.push(first);
+            for (Move second : board.legalMoves()) {
+                board.push(second);
+                assertEquals(hasher.hash(board), board.getZobristKey(), board.getFen());
+                board.pop();
+            }
+            assertEquals(hasher.hash(board), board.getZobristKey(), board.getFen());
+            board.pop();
+        }
+        assertEquals(hasher.hash(board), board.getZobristKey());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3"
+    })
+    void testMakeMove_matchesPush(String fen) {
+        Board made = new Board(fen);
+        Board pushed = new Board(fen);
+        MoveList moves = new MoveList();
+        made.generateLegalMoves(moves);
+
+        for (int i = 0; i < moves.size(); i++) {
+            made.makeMove(moves.get(i));
+            pushed.push(moves.get(i));
+            assertEquals(pushed.getFen(), made.getFen());
+            assertEquals(pushed.getZobristKey(), made.getZobristKey());
+            assertEquals(pushed.hashCode(), made.hashCode());
+
+            MoveList replies = new MoveList();
+            made.generateLegalMoves(replies);
+            for (int j = 0; j < replies.size(); j++) {
+                made.makeMove(replies.get(j));
+                pushed.push(replies.get(j));
+                assertEquals(pushed.getFen(), made.getFen());
+                assertEquals(pushed.getZobristKey(), made.getZobristKey());
+                made.unmakeMove();
+                pushed.pop();
+            }
+
+            made.unmakeMove();
+            pushed.pop();
+        }
+        assertEquals(fen, made.getFen());
+        assertEquals(new Board(fen).hashCode(), made.hashCode());
+    }
+
+    @Test
+    void testMakeMove_detectsRepetition() {
+        Board board = new Board("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        String[] moves = {"e1d1", "e8d8", "d1e1", "d8e8"};
+
+        for (int i = 0; i < 2; i++) {
+            for (String move : moves) {
+                assertFalse(board.isRepetition());
+                board.makeMove(board.packMove(Move.fromUci(move)));
+            }
+        }
+        assertTrue(board.isRepetition());
+        assertEquals(0, board.moveStack.size());
+    }
+
+    @Test
+    void testMakeNullMove() {
+        String fen = "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3";
+        Board board = new Board(fen);
+
+        board.makeNullMove();
+        assertEquals("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 3", board.getFen());
+        assertEquals(new ZobristHasher().hash(board), board.getZobristKey());
+
+        board.unmakeNullMove();
+        assertEquals(fen, board.getFen());
+        assertTrue(board.hasLegalEnPassant());
+        assertThrows(NoSuchElementException.class, board::unmakeMove);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "8/8/8/KPp4r/8/8/8/7k w - c6 0 1, b5c6, false",
+            "4r2k/8/8/3pP3/8/8/8/4K3 w - d6 0 1, e5d6, false",
+            "4r2k/8/8/4P3/8/8/8/4K3 w - - 0 1, e5e6, true",
+            "7k/8/8/1b6/8/3N4/8/5K2 w - - 0 1, d3b4, false",
+            "7k/8/8/1b6/8/8/4Q3/5K2 w - - 0 1, e2b5, true",
+            "7k/8/8/1b6/8/8/4Q3/5K2 w - - 0 1, e2d3, true",
+            "7k/8/8/1b6/8/8/4Q3/5K2 w - - 0 1, e2e3, false",
+            "4r2k/8/8/8/R7/8/8/4K3 w - - 0 1, a4e4, true",
+            "4r2k/8/8/8/R7/8/8/4K3 w - - 0 1, a4a5, false",
+            "4r2k/8/8/8/R7/8/8/4K3 w - - 0 1, e1e2, false",
+            "7k/8/8/3pP3/4K3/8/8/8 w - d6 0 1, e5d6, true",
+            "7k/8/8/3pP3/4K3/8/8/8 w - d6 0 1, e4d5, true"
+    })
+    void testGenerateLegalMoves_pinsAndChecks(String fen, String uci, boolean legal) {
+        Board board = new Board(fen);
+        Move move = Move.fromUci(uci);
+
+        assertEquals(legal, board.generateLegalMoves().contains(move));
+        assertEquals(legal, board.isLegal(move));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1, true",
+            "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3, false",
+            "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1, false",
+            "8/8/8/8/3pP3/3N4/7R/k1K5 b - e3 0 1, true",
+            "4k2q/8/8/8/8/p7/PB1n4/K7 w - - 0 1, true",
+            "4k3/8/8/8/1b6/8/3N4/r3K3 w - - 0 1, true",
+            "4k3/8/8/8/1b6/8/4PP2/r3K3 w - - 0 1, false",
+            "8/8/8/8/8/8/8/8 w - - 0 1, false"
+    })
+    void testHasLegalMove(String fen, boolean expected) {
+        Board board = new Board(fen);
+        assertEquals(expected, board.hasLegalMove());
+        assertEquals(!board.generateLegalMoves().isEmpty(), board.hasLegalMove());
+    }
+
+    @Test
+    void testHasLegalMove_cacheFollowsPosition() {
+        Board board = new Board("rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b KQkq - 0 2");
+        assertTrue(board.hasLegalMove());
+
+        board.pushUci("d8h4");
+        assertFalse(board.hasLegalMove());
+        assertTrue(board.isCheckmate());
+        assertEquals(Termination.CHECKMATE, board.outcome().getTermination());
+
+        board.pop();
+        assertTrue(board.hasLegalMove());
+        assertNull(board.outcome());
+
+        board.setFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        assertFalse(board.hasLegalMove());
+        assertTrue(board.isStalemate());
+    }
+
+    @Test
+    void testGetZobristKey_afterSetup() {
+        Board board = new Board();
+        board.setFen("r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1");
+        assertEquals(new ZobristHasher().hash(board), board.getZobristKey());
+
+        board.applyMirror();
+        assertEquals(new ZobristHasher().hash(board), board.getZobristKey());
+
+        board.set(Square.D4, Piece.fromTypeAndColor(PieceType.QUEEN, Color.WHITE));
+        board.removePiece(Square.A1);
+        assertEquals(new ZobristHasher().hash(board), board.getZobristKey());
+
+        Board copy = board.copy();
+        assertEquals(board.getZobristKey(), copy.getZobristKey());
+
+        board.clear();
+        assertEquals(0, board.getZobristKey() ^ Polyglot.POLYGLOT_RANDOM_ARRAY[780]);
+    }
+
     @Test
     void testCastlingMoveGeneration() {
         String fen = "rnbqkbnr/2pp1ppp/8/4p3/2BPP3/P1N2N2/PB3PPP/2RQ1RK1 b kq - 1 10";
@@ -1013,6 +1190,80 @@ class BoardTest {
         }
     }
 
+    @Test
+    void testRepetition_castlingRightsLost() {
+        Board board = new Board("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+
+        for (int i = 0; i < 2; i++) {
+            board.pushSan("Kf1");
+            board.pushSan("Kf8");
+            board.pushSan("Ke1");
+            board.pushSan("Ke8");
+        }
+        assertFalse(board.isRepetition());
+        assertFalse(board.canClaimThreefoldRepetition());
+
+        board.pushSan("Kf1");
+        board.pushSan("Kf8");
+        assertTrue(board.canClaimThreefoldRepetition());
+        board.pushSan("Ke1");
+        board.pushSan("Ke8");
+        assertTrue(board.isRepetition());
+        assertEquals("r3k2r/8/8/8/8/8/8/R3K2R w - - 12 7", board.getFen());
+        assertEquals(12, board.moveStack.size());
+    }
+
+    @Test
+    void testRepetition_illegalEnPassantIgnored() {
+        // the pawn on d4 is pinned, so e3 is no legal En Passant square after e2e4
+        Board board = new Board("3k4/8/8/8/3p4/8/4P3/3R1K2 w - - 0 1");
+        board.pushSan("e4");
+        assertFalse(board.hasLegalEnPassant());
+
+        for (int i = 0; i < 2; i++) {
+            board.pushSan("Kc8");
+            board.pushSan("Kg1");
+            board.pushSan("Kd8");
+            board.pushSan("Kf1");
+        }
+        assertTrue(board.isRepetition());
+    }
+
+    @Test
+    void testMakeMove_repetitionIllegalEnPassantIgnored() {
+        // the pawn on d4 is pinned, so e3 is no legal En Passant square after e2e4
+        Board board = new Board("3k4/8/8/8/3p4/8/4P3/3R1K2 w - - 0 1");
+        board.makeMove(board.packMove(board.parseSan("e4")));
+        assertFalse(board.hasLegalEnPassant());
+
+        for (int i = 0; i < 2; i++) {
+            for (String san : new String[]{"Kc8", "Kg1", "Kd8", "Kf1"}) {
+                assertFalse(board.isRepetition());
+                board.makeMove(board.packMove(board.parseSan(san)));
+            }
+        }
+        assertTrue(board.isRepetition());
+        assertEquals(0, board.moveStack.size());
+    }
+
+    @Test
+    void testRepetition_halfMoveClockFromFen() {
+        Board board = new Board("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        board.pushSan("Kd1");
+        board.pushSan("Kd8");
+        board.pushSan("Ke1");
+        board.pushSan("Ke8");
+        board.pushSan("Kd1");
+        board.pushSan("Kd8");
+        board.pushSan("Ke1");
+        board.pushSan("Ke8");
+        assertTrue(board.isRepetition());
+
+        board.setFen(board.getFen());
+        assertFalse(board.isRepetition());
+        assertFalse(board.canClaimThreefoldRepetition());
+    }
+
     @Test
     void testFivefoldRepetition() {
         String fen = "rnbq1rk1/ppp3pp/3bpn2/3p1p2/2PP4/2NBPN2/PP3PPP/R1BQK2R w KQ - 3 7";
@@ -1633,4 +1884,188 @@ class BoardTest {
         assertEquals("rnbqkbnr/pppppppp/8/8/8/5N2/PPPPPPPP/RNBQKB1R b KQkq - 1 1", board.getFen());
         assertEquals("g1f3", move.getUciMove());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPackMove() {
+        Board board = new Board("r3k2r/1P6/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+
+        assertEquals(PackedMove.KING_CASTLE, PackedMove.getFlags(board.packMove(Move.fromUci("e1g1"))));
+        assertEquals(PackedMove.QUEEN_CASTLE, PackedMove.getFlags(board.packMove(Move.fromUci("e1c1"))));
+        assertEquals(PackedMove.EN_PASSANT, PackedMove.getFlags(board.packMove(Move.fromUci("e5d6"))));
+        assertEquals(PackedMove.CAPTURE, PackedMove.getFlags(board.packMove(Move.fromUci("a1a8"))));
+        assertEquals(PackedMove.QUIET, PackedMove.getFlags(board.packMove(Move.fromUci("e5e6"))));
+        assertTrue(PackedMove.isCapture(board.packMove(Move.fromUci("b7a8q"))));
+        assertFalse(PackedMove.isCapture(board.packMove(Move.fromUci("b7b8q"))));
+    }
+
+    @Test
+    void testPushPacked() {
+        Board board = new Board();
+        int move = board.packMove(Move.fromUci("e2e4"));
+        assertTrue(PackedMove.isDoublePawnPush(move));
+        assertTrue(board.isLegal(move));
+
+        board.push(move);
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", board.getFen());
+
+        assertEquals(move, board.popPacked());
+        assertEquals(new Board(), board);
+    }
+
+    @Test
+    void testIsLegal_packedWithWrongFlags() {
+        Board board = new Board();
+
+        assertFalse(board.isLegal(PackedMove.of(Square.E2.ordinal(), Square.E4.ordinal())));
+        assertFalse(board.isLegal(PackedMove.of(Square.E2.ordinal(), Square.E4.ordinal(), PackedMove.CAPTURE)));
+        assertFalse(board.isLegal(PackedMove.ofPromotion(Square.E2.ordinal(), Square.E3.ordinal(),
+                                                         PieceType.QUEEN, false)));
+        assertFalse(board.isLegal(PackedMove.NONE));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "rnb2k1r/pp1Pbppp/2p5/q7/2B5/8/PPPQNnPP/RNB1K2R w KQ - 3 9",
+            "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3"
+    })
+    void testGenerateLegalMoves_moveList(String fen) {
+        Board board = new Board(fen);
+        MoveList moves = new MoveList();
+        moves.add(PackedMove.NONE);
+
+        board.generateLegalMoves(moves);
+
+        assertEquals(PackedMove.NONE, moves.get(0));
+        assertEquals(board.generateLegalMoves(), new HashSet<>(moves.toMoves().subList(1, moves.size())));
+        for (int i = 1; i < moves.size(); i++) {
+            assertEquals(board.packMove(PackedMove.toMove(moves.get(i))), moves.get(i));
+        }
+
+        MoveList again = new MoveList();
+        board.generateLegalMoves(again);
+        assertArrayEquals(Arrays.copyOfRange(moves.toArray(), 1, moves.size()), again.toArray());
+    }
+
+    @Test
+    void testGeneratePseudoLegalCaptures_moveList() {
+        Board board = new Board("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+        MoveList moves = new MoveList();
+
+        board.generatePseudoLegalCaptures(moves, Bitboard.ALL, Bitboard.ALL);
+
+        assertEquals(1, moves.size());
+        assertTrue(PackedMove.isEnPassant(moves.get(0)));
+        assertEquals(board.generatePseudoLegalCaptures(), new HashSet<>(moves.toMoves()));
+    }
+
+    @Test
+    void testGenerateLegalCapturesAndPromotions() {
+        Board board = new Board("1n2k3/P7/8/3pP3/8/8/8/4K3 w - d6 0 1");
+        MoveList moves = new MoveList();
+
+        board.generateLegalCapturesAndPromotions(moves);
+
+        Set<Move> expected = new HashSet<>();
+        for (Move move : board.generateLegalMoves()) {
+            if (board.isCapture(move) || move.getPromotion() != null) {
+                expected.add(move);
+            }
+        }
+        assertEquals(9, moves.size());
+        assertEquals(expected, moves.toMoveSet());
+    }
+
+    @Test
+    void testGenerateLegalQuietMoves() {
+        Board board = new Board("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        MoveList quiet = new MoveList();
+        MoveList tactical = new MoveList();
+
+        board.generateLegalQuietMoves(quiet);
+        board.generateLegalCapturesAndPromotions(tactical);
+
+        Set<Move> all = new HashSet<>(quiet.toMoves());
+        all.addAll(tactical.toMoves());
+        assertEquals(48, quiet.size() + tactical.size());
+        assertEquals(board.generateLegalMoves(), all);
+        assertTrue(quiet.toMoveSet().contains(Move.fromUci("e1g1")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "5k2/8/8/8/8/8/8/4K2R w K - 0 1, e1g1 h1f1 h1h8",
+            "4k3/8/8/8/4N3/8/8/4RK2 w - - 0 1, e4c3 e4c5 e4d2 e4d6 e4f2 e4f6 e4g3 e4g5",
+            "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1, ''"
+    })
+    void testGenerateLegalQuietChecks(String fen, String expected) {
+        Board board = new Board(fen);
+        MoveList moves = new MoveList();
+
+        board.generateLegalQuietChecks(moves);
+
+        Set<Move> expectedMoves = new HashSet<>();
+        for (String uci : expected.split(" ")) {
+            if (!uci.isEmpty()) {
+                expectedMoves.add(Move.fromUci(uci));
+            }
+        }
+        assertEquals(expectedMoves, moves.toMoveSet());
+    }
+
+    @Test
+    void testGenerateLegalEvasions() {
+        Board board = new Board("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        MoveList moves = new MoveList();
+
+        board.generateLegalEvasions(moves);
+        assertTrue(moves.isEmpty());
+
+        board.setFen("4r2k/8/8/8/R7/8/8/4K3 w - - 0 1");
+        board.generateLegalEvasions(moves);
+        assertEquals(board.generateLegalMoves(), moves.toMoveSet());
+        assertTrue(moves.toMoveSet().contains(Move.fromUci("a4e4")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1, e1e5, 100",
+            "1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1, d3e5, -200",
+            "3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1, d2d5, 100",
+            "3rk3/8/8/3p4/8/8/3R4/4K3 w - - 0 1, d2d5, -400",
+            "8/8/4k3/3p4/8/8/3R4/3RK3 w - - 0 1, d2d5, 100",
+            "8/8/4k3/3p4/8/8/3R4/4K3 w - - 0 1, d2d5, -400",
+            "4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1, e5d6, 100",
+            "4k3/P7/8/8/8/8/8/4K3 w - - 0 1, a7a8q, 800",
+            "1r2k3/P7/8/8/8/8/8/4K3 w - - 0 1, a7a8q, -100",
+            "4k3/8/8/3p4/8/8/8/2Q1K3 w - - 0 1, c1c4, -900",
+            "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1, e1g1, 0"
+    })
+    void testSee(String fen, String uci, int expected) {
+        Board board = new Board(fen);
+        Move move = Move.fromUci(uci);
+
+        assertEquals(expected, board.see(move));
+        assertEquals(expected, board.see(board.packMove(move)));
+        assertTrue(board.seeGreaterOrEqual(move, expected));
+        assertFalse(board.seeGreaterOrEqual(move, expected + 1));
+        assertTrue(board.seeGreaterOrEqual(board.packMove(move), expected - 1));
+    }
+
+    @Test
+    void testPush_kingStepToFileG() {
+        Board board = new Board("4k3/8/8/8/8/8/8/5K1R w - - 0 1");
+        board.push(Move.fromUci("f1g1"));
+
+        assertEquals("4k3/8/8/8/8/8/8/6KR b - - 1 1", board.getFen());
+    }
+
+    @Test
+    void testGenerateCastlingMoves_blackKingside() {
+        Board board = new Board("r3k2r/8/8/8/8/8/8/4KR2 b kq - 0 1");
+
+        Set<Move> expected = new HashSet<>(Arrays.asList(Move.fromUci("e8c8")));
+        assertEquals(expected, board.generateCastlingMoves());
+    }
+}
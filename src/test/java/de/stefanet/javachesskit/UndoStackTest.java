@@ -0,0 +1,39 @@
+package de.stefanet.javachesskit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+
+class UndoStackTest {
+
+    @Test
+    void testPushPop_restoresBoard() {
+        String fen = "r3k2r/p1pp1pb1/bn2Qnp1/2qPN3/1p2P3/2N5/PPPBBPpP/R3K2R b KQkq e3 0 17";
+        Board board = new Board(fen);
+        Board other = new Board();
+        UndoStack stack = new UndoStack();
+
+        stack.push(board, 42L);
+        stack.pop(other);
+
+        assertEquals(fen, other.getFen());
+        assertEquals(board.getZobristKey(), other.getZobristKey());
+    }
+
+    @Test
+    void testPush_growsAndKeepsKeys() {
+        Board board = new Board();
+        UndoStack stack = new UndoStack();
+
+        for (int i = 0; i < 1000; i++) {
+            stack.push(board, i);
+        }
+        assertEquals(0, stack.positionKey(0));
+        assertEquals(999, stack.positionKey(999));
+
+        stack.clear();
+        assertThrows(NoSuchElementException.class, () -> stack.pop(board));
+    }
+}
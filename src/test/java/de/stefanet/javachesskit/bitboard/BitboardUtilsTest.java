@@ -4,6 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import de.stefanet.javachesskit.core.Square;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class BitboardUtilsTest {
@@ -38,6 +41,23 @@ class BitboardUtilsTest {
         assertArrayEquals(expected, BitboardUtils.scanReversed(value));
     }
 
+    @Test
+    void testClearLsb() {
+        assertEquals(0b101000, BitboardUtils.clearLsb(0b101100));
+        assertEquals(0, BitboardUtils.clearLsb(Long.MIN_VALUE));
+        assertEquals(0, BitboardUtils.clearLsb(0));
+    }
+
+    @Test
+    void testForEachSquare() {
+        long value = 0b10000000_01000000_00100000_00010000_00001000_00000100_00000010_00000001L;
+        List<Integer> squares = new ArrayList<>();
+
+        BitboardUtils.forEachSquare(value, squares::add);
+
+        assertEquals(Arrays.asList(0, 9, 18, 27, 36, 45, 54, 63), squares);
+    }
+
     @Test
     void testFlipVertical() {
         long value = 0b00000001_00000010_00000100_00001000_00010000_00100000_01000000_10000000L;
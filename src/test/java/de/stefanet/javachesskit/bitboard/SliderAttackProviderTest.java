@@ -0,0 +1,72 @@
+package de.stefanet.javachesskit.bitboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SliderAttackProviderTest {
+    private static final List<Map<Long, Long>> RANK_ATTACKS = Attacks.attackTable(-1, 1).getAttackTable();
+    private static final List<Map<Long, Long>> FILE_ATTACKS = Attacks.attackTable(-8, 8).getAttackTable();
+    private static final List<Map<Long, Long>> DIAGONAL_ATTACKS = Attacks.attackTable(-9, -7, 7, 9).getAttackTable();
+
+    private static void assertMatchesReference(SliderAttackProvider provider) {
+        for (int square = 0; square < 64; square++) {
+            for (Map.Entry<Long, Long> rank : RANK_ATTACKS.get(square).entrySet()) {
+                for (Map.Entry<Long, Long> file : FILE_ATTACKS.get(square).entrySet()) {
+                    long occupied = rank.getKey() | file.getKey();
+                    assertEquals(rank.getValue() | file.getValue(), provider.rookAttacks(square, occupied));
+                }
+            }
+
+            for (Map.Entry<Long, Long> diagonal : DIAGONAL_ATTACKS.get(square).entrySet()) {
+                assertEquals((long) diagonal.getValue(), provider.bishopAttacks(square, diagonal.getKey()));
+            }
+        }
+    }
+
+    @Test
+    void testMagicProvider() {
+        SliderAttackProvider provider = SliderAttacks.createProvider("magic");
+        assertEquals("magic", provider.getName());
+        assertMatchesReference(provider);
+    }
+
+    @Test
+    void testFancyMagicProvider() {
+        SliderAttackProvider provider = SliderAttacks.createProvider("fancy");
+        assertEquals("fancy", provider.getName());
+        assertMatchesReference(provider);
+    }
+
+    @Test
+    void testPextProvider() {
+        SliderAttackProvider provider = SliderAttacks.createProvider("pext");
+        assertEquals("pext", provider.getName());
+        assertMatchesReference(provider);
+    }
+
+    @Test
+    void testTableSize() {
+        long magic = new MagicAttackProvider().getTableSize();
+        long fancy = new FancyMagicAttackProvider().getTableSize();
+        long pext = new PextAttackProvider().getTableSize();
+
+        assertTrue(fancy < magic);
+        assertTrue(pext < fancy);
+    }
+
+    @Test
+    void testDefaultProvider() {
+        assertEquals(System.getProperty(SliderAttacks.PROVIDER_PROPERTY, "magic"),
+                     SliderAttacks.getProvider().getName());
+    }
+
+    @Test
+    void testUnknownProvider() {
+        assertThrows(IllegalArgumentException.class, () -> SliderAttacks.createProvider("bmi3"));
+    }
+}
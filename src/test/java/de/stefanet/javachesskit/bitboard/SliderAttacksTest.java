@@ -0,0 +1,65 @@
+package de.stefanet.javachesskit.bitboard;
+
+import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.A1;
+import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.A8;
+import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.B2;
+import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.C3;
+import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.D4;
+import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.E4;
+import static de.stefanet.javachesskit.bitboard.Bitboard.Squares.H1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.stefanet.javachesskit.core.Square;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SliderAttacksTest {
+
+    @Test
+    void testRookAttacks_matchReferenceTables() {
+        List<Map<Long, Long>> rankAttacks = Attacks.attackTable(-1, 1).getAttackTable();
+        List<Map<Long, Long>> fileAttacks = Attacks.attackTable(-8, 8).getAttackTable();
+
+        for (int square = 0; square < 64; square++) {
+            for (Map.Entry<Long, Long> rank : rankAttacks.get(square).entrySet()) {
+                for (Map.Entry<Long, Long> file : fileAttacks.get(square).entrySet()) {
+                    long occupied = rank.getKey() | file.getKey();
+                    assertEquals(rank.getValue() | file.getValue(), SliderAttacks.rookAttacks(square, occupied));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBishopAttacks_matchReferenceTable() {
+        List<Map<Long, Long>> diagonalAttacks = Attacks.attackTable(-9, -7, 7, 9).getAttackTable();
+
+        for (int square = 0; square < 64; square++) {
+            for (Map.Entry<Long, Long> entry : diagonalAttacks.get(square).entrySet()) {
+                assertEquals((long) entry.getValue(), SliderAttacks.bishopAttacks(square, entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    void testAttacks_ignoreIrrelevantOccupancy() {
+        long edges = Bitboard.Ranks.RANK_1 | Bitboard.Ranks.RANK_8 | Bitboard.Files.FILE_A | Bitboard.Files.FILE_H;
+
+        assertEquals(SliderAttacks.rookAttacks(Square.D4.ordinal(), 0),
+                     SliderAttacks.rookAttacks(Square.D4.ordinal(), edges | C3));
+        assertEquals(SliderAttacks.bishopAttacks(Square.D4.ordinal(), 0),
+                     SliderAttacks.bishopAttacks(Square.D4.ordinal(), edges | E4 | D4));
+    }
+
+    @Test
+    void testQueenAttacks() {
+        long occupied = B2 | A8 | H1;
+        long expected = SliderAttacks.rookAttacks(Square.A1.ordinal(), occupied) |
+                        SliderAttacks.bishopAttacks(Square.A1.ordinal(), occupied);
+
+        assertEquals(expected, SliderAttacks.queenAttacks(Square.A1.ordinal(), occupied));
+        assertEquals(B2 | Bitboard.Files.FILE_A & ~A1 | Bitboard.Ranks.RANK_1 & ~A1,
+                     SliderAttacks.queenAttacks(Square.A1.ordinal(), occupied));
+    }
+}
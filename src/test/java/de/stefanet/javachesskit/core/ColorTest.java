@@ -32,4 +32,10 @@ class ColorTest {
         assertEquals('b', Color.BLACK.getSymbol());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFromIndex() {
+        assertEquals(Color.WHITE, Color.fromIndex(0));
+        assertEquals(Color.BLACK, Color.fromIndex(1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> Color.fromIndex(2));
+    }
+}
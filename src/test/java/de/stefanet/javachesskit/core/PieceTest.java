@@ -2,6 +2,8 @@ package de.stefanet.javachesskit.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -61,4 +63,19 @@ class PieceTest {
         assertNotEquals(whitePawn1.hashCode(), blackPawn.hashCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFromTypeAndColor_sharedInstance() {
+        assertSame(Piece.fromTypeAndColor(PieceType.QUEEN, Color.BLACK),
+                   Piece.fromTypeAndColor(PieceType.QUEEN, Color.BLACK));
+        assertNotSame(Piece.fromTypeAndColor(PieceType.QUEEN, Color.BLACK),
+                      Piece.fromTypeAndColor(PieceType.QUEEN, Color.WHITE));
+    }
+
+    @Test
+    void testFromSymbol() {
+        assertSame(Piece.fromTypeAndColor(PieceType.KNIGHT, Color.WHITE), Piece.fromSymbol('N'));
+        assertSame(Piece.fromTypeAndColor(PieceType.KING, Color.BLACK), Piece.fromSymbol('k'));
+        assertEquals(new Piece('r'), Piece.fromSymbol('r'));
+        assertThrows(IllegalArgumentException.class, () -> Piece.fromSymbol('x'));
+    }
+}
@@ -32,4 +32,17 @@ class PieceTypeTest {
         Exception exception = assertThrows(IllegalArgumentException.class, () -> PieceType.fromSymbol('x'));
         assertEquals("No piece with symbol x", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void fromIndex() {
+        for (PieceType type : PieceType.values()) {
+            assertEquals(type, PieceType.fromIndex(type.ordinal()));
+        }
+    }
+
+    @Test
+    void promotionTypesUnmodifiable() {
+        assertEquals(4, PieceType.promotionTypes().size());
+        assertThrows(UnsupportedOperationException.class, () -> PieceType.promotionTypes().clear());
+    }
+}
@@ -2,10 +2,19 @@ package de.stefanet.javachesskit.move;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.core.Square;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 class LegalMoveGeneratorTest {
 
@@ -46,4 +55,33 @@ class LegalMoveGeneratorTest {
         assertTrue(moveGenerator.any());
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @CsvSource({
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "8/8/8/2k5/3Pp3/8/8/4K3 b - d3 0 1"
+    })
+    void testIterator_matchesGenerateLegalMoves(String fen) {
+        Board board = new Board(fen);
+        List<Move> moves = new ArrayList<>();
+        for (Move move : board.legalMoves()) {
+            moves.add(move);
+        }
+
+        assertEquals(board.generateLegalMoves(), new HashSet<>(moves));
+        assertEquals(moves.size(), board.legalMoves().count());
+    }
+
+    @Test
+    void testIterator_kingMovesFirst() {
+        Board board = new Board("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        Iterator<Move> iterator = board.legalMoves().iterator();
+
+        assertEquals(Square.E1, iterator.next().getSource());
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
@@ -0,0 +1,52 @@
+package de.stefanet.javachesskit.move;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class MoveListTest {
+
+    @Test
+    void testAdd_growsBeyondCapacity() {
+        MoveList moves = new MoveList(1);
+        for (int i = 0; i < 100; i++) {
+            moves.add(i);
+        }
+
+        assertEquals(100, moves.size());
+        assertEquals(42, moves.get(42));
+        assertTrue(moves.contains(99));
+        assertFalse(moves.contains(100));
+    }
+
+    @Test
+    void testClearAndTruncate() {
+        MoveList moves = new MoveList();
+        moves.add(1);
+        moves.add(2);
+        moves.add(3);
+
+        moves.truncate(1);
+        assertArrayEquals(new int[]{1}, moves.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> moves.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> moves.truncate(2));
+
+        moves.clear();
+        assertTrue(moves.isEmpty());
+    }
+
+    @Test
+    void testToMoves() {
+        MoveList moves = new MoveList();
+        moves.add(PackedMove.fromMove(Move.fromUci("e2e4")));
+        moves.add(PackedMove.fromMove(Move.fromUci("a7a8q")));
+
+        assertEquals(Arrays.asList(Move.fromUci("e2e4"), Move.fromUci("a7a8q")), moves.toMoves());
+        assertEquals("MoveList[e2e4, a7a8q]", moves.toString());
+    }
+}
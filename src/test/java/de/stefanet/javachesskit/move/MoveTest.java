@@ -2,12 +2,16 @@ package de.stefanet.javachesskit.move;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import de.stefanet.javachesskit.core.PieceType;
 import de.stefanet.javachesskit.core.Square;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class MoveTest {
 
@@ -70,4 +74,26 @@ class MoveTest {
         assertEquals(move1.hashCode(), move2.hashCode());
         assertNotEquals(move1.hashCode(), move3.hashCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOf_sharedInstance() {
+        assertSame(Move.of(Square.E2, Square.E4), Move.fromUci("e2e4"));
+        assertSame(Move.of(Square.B7, Square.A8, PieceType.ROOK), Move.fromUci("b7a8r"));
+        assertSame(Move.of(Square.E7, Square.E8), Move.of(Square.E7, Square.E8, null));
+        assertNotSame(Move.of(Square.E7, Square.E8), Move.of(Square.E7, Square.E8, PieceType.QUEEN));
+        assertEquals(new Move(Square.G1, Square.F3), Move.of(Square.G1, Square.F3));
+    }
+
+    @Test
+    void testOf_wrongPromotion() {
+        assertThrows(IllegalArgumentException.class, () -> Move.of(Square.E4, Square.E5, PieceType.QUEEN));
+        assertThrows(IllegalArgumentException.class, () -> Move.of(Square.E7, Square.E8, PieceType.KING));
+        assertThrows(IllegalArgumentException.class, () -> Move.of(Square.E7, Square.E8, PieceType.PAWN));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "e2e", "e2e4qq", "i2e4", "e9e4", "e2x4", "e2e0", "e7e8k", "E2E4"})
+    void testFromUci_invalid(String uci) {
+        assertThrows(IllegalArgumentException.class, () -> Move.fromUci(uci));
+    }
+}
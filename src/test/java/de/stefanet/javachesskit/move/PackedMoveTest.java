@@ -0,0 +1,51 @@
+package de.stefanet.javachesskit.move;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.stefanet.javachesskit.core.PieceType;
+import de.stefanet.javachesskit.core.Square;
+import org.junit.jupiter.api.Test;
+
+class PackedMoveTest {
+
+    @Test
+    void testOf_fitsInto16Bits() {
+        int move = PackedMove.ofPromotion(Square.H7.ordinal(), Square.G8.ordinal(), PieceType.QUEEN, true);
+
+        assertEquals(move & 0xFFFF, move);
+        assertEquals(Square.H7.ordinal(), PackedMove.getSource(move));
+        assertEquals(Square.G8.ordinal(), PackedMove.getTarget(move));
+        assertEquals(PieceType.QUEEN, PackedMove.getPromotion(move));
+        assertTrue(PackedMove.isPromotion(move));
+        assertTrue(PackedMove.isCapture(move));
+    }
+
+    @Test
+    void testFlags() {
+        int doublePush = PackedMove.of(Square.E2.ordinal(), Square.E4.ordinal(), PackedMove.DOUBLE_PAWN_PUSH);
+        int castling = PackedMove.of(Square.E1.ordinal(), Square.C1.ordinal(), PackedMove.QUEEN_CASTLE);
+        int enPassant = PackedMove.of(Square.E5.ordinal(), Square.D6.ordinal(), PackedMove.EN_PASSANT);
+
+        assertTrue(PackedMove.isDoublePawnPush(doublePush));
+        assertFalse(PackedMove.isCapture(doublePush));
+        assertTrue(PackedMove.isCastling(castling));
+        assertFalse(PackedMove.isCapture(castling));
+        assertTrue(PackedMove.isEnPassant(enPassant));
+        assertTrue(PackedMove.isCapture(enPassant));
+        assertNull(PackedMove.getPromotion(enPassant));
+    }
+
+    @Test
+    void testToMove() {
+        for (PieceType promotion : PieceType.promotionTypes()) {
+            Move move = new Move(Square.B2, Square.B1, promotion);
+            assertEquals(move, PackedMove.toMove(PackedMove.fromMove(move)));
+        }
+
+        assertEquals(Move.fromUci("g1f3"), PackedMove.toMove(PackedMove.of(Square.G1.ordinal(), Square.F3.ordinal())));
+        assertEquals("a7a8n", PackedMove.toUci(PackedMove.fromMove(Move.fromUci("a7a8n"))));
+    }
+}
@@ -0,0 +1,71 @@
+package de.stefanet.javachesskit.perft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ParallelPerftTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3})
+    void testPerft_splitDepths(int splitDepth) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelPerft perft = new ParallelPerft(pool, splitDepth, null);
+            for (PerftPosition position : PerftPosition.values()) {
+                assertEquals(position.getExpectedNodes(3), perft.perft(new Board(position.getFen()), 3));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testPerft_withHashTable() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelPerft perft = new ParallelPerft(pool, 1, new PerftHashTable(1 << 12));
+
+            assertEquals(PerftPosition.INITIAL.getExpectedNodes(4), perft.perft(new Board(), 4));
+            assertEquals(PerftPosition.POSITION_3.getExpectedNodes(4),
+                         perft.perft(new Board(PerftPosition.POSITION_3.getFen()), 4));
+            assertThrows(IllegalArgumentException.class, () -> perft.perft(new Board(), 64));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testPerft_defaultPool() {
+        ParallelPerft perft = new ParallelPerft();
+
+        assertEquals(1, perft.perft(new Board(), 0));
+        assertEquals(400, perft.perft(new Board(), 2));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPerft(ForkJoinPool.commonPool(), 0, null));
+    }
+
+    @Test
+    void testDivide() {
+        Board board = new Board(PerftPosition.KIWIPETE.getFen());
+        Map<Move, PerftResult> divide = new ParallelPerft().divide(board, 3);
+
+        assertEquals(48, divide.size());
+        assertEquals(PerftPosition.KIWIPETE.getFen(), board.getFen());
+
+        PerftResult castling = divide.get(Move.fromUci("e1g1"));
+        assertEquals(2, castling.getDepth());
+        assertEquals("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R4RK1 b kq - 1 1", castling.getFen());
+        assertTrue(castling.getNanos() > 0);
+        assertEquals(PerftPosition.KIWIPETE.getExpectedNodes(3),
+                     divide.values().stream().mapToLong(PerftResult::getNodes).sum());
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPerft().divide(board, 0));
+    }
+}
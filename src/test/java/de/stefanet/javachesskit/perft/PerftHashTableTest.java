@@ -0,0 +1,42 @@
+package de.stefanet.javachesskit.perft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.stefanet.javachesskit.Board;
+import org.junit.jupiter.api.Test;
+
+class PerftHashTableTest {
+
+    @Test
+    void testPutAndGet() {
+        PerftHashTable table = new PerftHashTable(1000);
+        assertEquals(1024, table.capacity());
+
+        table.put(0x1234_5678_9ABC_DEF0L, 5, 4_865_609L);
+
+        assertEquals(4_865_609L, table.get(0x1234_5678_9ABC_DEF0L, 5));
+        assertEquals(-1, table.get(0x1234_5678_9ABC_DEF0L, 4));
+        assertEquals(-1, table.get(0x1234_5678_9ABC_DEF1L, 5));
+
+        table.clear();
+        assertEquals(-1, table.get(0x1234_5678_9ABC_DEF0L, 5));
+    }
+
+    @Test
+    void testPerft_withHashTable() {
+        PerftHashTable table = new PerftHashTable(1 << 10);
+        Board board = new Board(PerftPosition.KIWIPETE.getFen());
+
+        assertEquals(PerftPosition.KIWIPETE.getExpectedNodes(3), Perft.perft(board, 3, table));
+        assertEquals(PerftPosition.KIWIPETE.getExpectedNodes(3), Perft.perft(board, 3, table));
+        assertEquals(1, Perft.perft(board, 0, table));
+        assertThrows(IllegalArgumentException.class, () -> Perft.perft(board, 64, table));
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PerftHashTable(0));
+        assertThrows(IllegalArgumentException.class, () -> new PerftHashTable((1 << 29) + 1));
+    }
+}
@@ -0,0 +1,98 @@
+package de.stefanet.javachesskit.perft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class PerftTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "INITIAL, 3",
+            "KIWIPETE, 3",
+            "POSITION_3, 4",
+            "POSITION_4, 3",
+            "POSITION_5, 3",
+            "POSITION_6, 3"
+    })
+    void testPerft_referencePositions(PerftPosition position, int depth) {
+        Board board = new Board(position.getFen());
+
+        assertEquals(position.getExpectedNodes(depth), Perft.perft(board, depth));
+        assertEquals(position.getFen(), board.getFen());
+    }
+
+    @Test
+    void testPerft_depthZero() {
+        assertEquals(1, Perft.perft(new Board(), 0));
+        assertThrows(IllegalArgumentException.class, () -> Perft.perft(new Board(), -1));
+    }
+
+    @Test
+    void testDivide() {
+        Board board = new Board(PerftPosition.KIWIPETE.getFen());
+        Map<Move, Long> divide = Perft.divide(board, 2);
+
+        assertEquals(48, divide.size());
+        assertEquals(PerftPosition.KIWIPETE.getExpectedNodes(2),
+                     divide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(43, (long) divide.get(Move.fromUci("e1g1")));
+        assertEquals(PerftPosition.KIWIPETE.getFen(), board.getFen());
+        assertThrows(IllegalArgumentException.class, () -> Perft.divide(board, 0));
+    }
+
+    @Test
+    void testRun() {
+        PerftResult result = Perft.run(PerftPosition.POSITION_4, 2);
+
+        assertEquals(PerftPosition.POSITION_4.getFen(), result.getFen());
+        assertEquals(2, result.getDepth());
+        assertEquals(264, result.getNodes());
+        assertTrue(result.getNanos() > 0);
+        assertTrue(result.getMillis() >= 0);
+        assertTrue(result.getNodesPerSecond() > 0);
+        assertTrue(result.toString().contains("nodes=264"));
+    }
+
+    @Test
+    void testExpectedNodes_unknownDepth() {
+        assertEquals(5, PerftPosition.POSITION_4.getMaxDepth());
+        assertThrows(IllegalArgumentException.class, () -> PerftPosition.POSITION_4.getExpectedNodes(6));
+        assertThrows(IllegalArgumentException.class, () -> PerftPosition.POSITION_4.getExpectedNodes(0));
+    }
+
+    @Test
+    void testExecute() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, Perft.execute(new String[]{"2"}, new PrintStream(out)));
+        assertTrue(out.toString().contains("Nodes: 400"));
+
+        out.reset();
+        assertEquals(0, Perft.execute(new String[]{"divide", "1", "8/8/8/8/8/8/8/K6k", "w", "-", "-", "0", "1"},
+                                      new PrintStream(out)));
+        assertTrue(out.toString().contains("a1b2: 1"));
+        assertTrue(out.toString().contains("Nodes: 3"));
+
+        out.reset();
+        assertEquals(0, Perft.execute(new String[]{"parallel", "3"}, new PrintStream(out)));
+        assertTrue(out.toString().contains("Nodes: 8902"));
+
+        out.reset();
+        assertEquals(0, Perft.execute(new String[]{"suite", "2"}, new PrintStream(out)));
+        assertTrue(out.toString().contains("OK   KIWIPETE"));
+
+        out.reset();
+        assertEquals(2, Perft.execute(new String[]{"divide", "x"}, new PrintStream(out)));
+        assertTrue(out.toString().contains("Usage"));
+    }
+}
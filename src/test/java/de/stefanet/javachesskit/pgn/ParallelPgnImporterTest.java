@@ -0,0 +1,189 @@
+package de.stefanet.javachesskit.pgn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelPgnImporterTest {
+    private static final String[] OPENINGS = {
+            "1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 (3... Nf6 4. O-O) 4. Ba4 Nf6",
+            "1. d4 d5 2. c4 e6 {Queen's Gambit Declined} 3. Nc3 Nf6 4. Bg5 Be7",
+            "1. e4 c5 2. Nf3 d6 3. d4 cxd4 4. Nxd4 Nf6 5. Nc3 a6",
+            "1. c4 e5 2. Nc3 Nf6 3. g3 d5 4. cxd5 Nxd5",
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testImportGames_ordered() throws Exception {
+        Path path = writeGames(500);
+        ParallelPgnImporter importer = new ParallelPgnImporter(4, true, 300, 3);
+
+        List<String> results = new ArrayList<>();
+        long games = importer.importGames(path, (headers, moves, board) ->
+                headers.get("Event") + " " + moves.size() + " " + board.getFen(), results::add);
+
+        assertEquals(500, games);
+        assertEquals(expectedResults(500), results);
+    }
+
+    @Test
+    void testImportGames_unordered() throws Exception {
+        Path path = writeGames(500);
+        ParallelPgnImporter importer = new ParallelPgnImporter(4, false, 1000, 2);
+
+        List<String> results = new ArrayList<>();
+        long games = importer.importGames(path, (headers, moves, board) ->
+                headers.get("Event") + " " + moves.size() + " " + board.getFen(), results::add);
+
+        List<String> expected = expectedResults(500);
+        Collections.sort(results);
+        Collections.sort(expected);
+        assertEquals(500, games);
+        assertEquals(expected, results);
+    }
+
+    @Test
+    void testImportGames_fenHeaderAndInvalidGames() throws Exception {
+        Path path = tempDir.resolve("games.pgn");
+        write(path, "[Event \"1\"]\n[FEN \"4k3/8/8/8/8/8/4P3/4K3 w - - 0 1\"]\n\n1. e4 Kd7 *\n\n" +
+                    "[Event \"2\"]\n\n1. e4 e4 2. d4 *\n\n" +
+                    "[Event \"3\"]\n[FEN \"invalid\"]\n\n1. e4 *\n\n" +
+                    "[Event \"4\"]\n\n1. Nf3 *\n");
+
+        List<String> skipped = new ArrayList<>();
+        long games = new ParallelPgnImporter(2, true, 1, 1)
+                .importGames(path, (headers, moves, board) -> board.getFen(), skipped::add);
+
+        assertEquals(4, games);
+        assertEquals(2, skipped.size());
+        assertEquals("8/3k4/8/8/4P3/8/8/4K3 w - - 1 2", skipped.get(0));
+
+        List<String> reported = new ArrayList<>();
+        PgnGameHandler<String> handler = new PgnGameHandler<String>() {
+            @Override
+            public String game(Map<String, String> headers, List<Move> moves, Board board) {
+                return headers.get("Event") + " ok";
+            }
+
+            @Override
+            public String invalidGame(Map<String, String> headers, RuntimeException error) {
+                return headers.get("Event") + " " + error.getClass().getSimpleName();
+            }
+        };
+        new ParallelPgnImporter(3, false, 1, 4).importGames(path, handler, reported::add);
+
+        Collections.sort(reported);
+        assertEquals("[1 ok, 2 IllegalMoveException, 3 InvalidFenException, 4 ok]", reported.toString());
+    }
+
+    @Test
+    void testImportGames_emptyFileAndNoBoundaries() throws Exception {
+        Path empty = tempDir.resolve("empty.pgn");
+        write(empty, "");
+        Path noEvents = tempDir.resolve("games.pgn");
+        write(noEvents, "1. e4 e5 *\n\n1. d4 d5 *\n\n1. c4 *\n");
+        ParallelPgnImporter importer = new ParallelPgnImporter(2, true, 1, 1);
+
+        List<Integer> moves = new ArrayList<>();
+        assertEquals(0, importer.importGames(empty, (headers, line, board) -> line.size(), moves::add));
+        assertEquals(3, importer.importGames(noEvents, (headers, line, board) -> line.size(), moves::add));
+        assertEquals("[2, 2, 1]", moves.toString());
+    }
+
+    @Test
+    void testImportGames_exceptions() throws Exception {
+        Path path = writeGames(50);
+        ParallelPgnImporter importer = new ParallelPgnImporter(2, true, 100, 2);
+
+        assertThrows(IllegalStateException.class, () -> importer.importGames(path, (headers, moves, board) -> {
+            throw new IllegalStateException("handler");
+        }, result -> { }));
+        assertThrows(IllegalStateException.class, () -> importer.importGames(path, (headers, moves, board) -> 1,
+                                                                             result -> {
+                                                                                 throw new IllegalStateException();
+                                                                             }));
+        assertThrows(NoSuchFileException.class, () -> importer.importGames(tempDir.resolve("missing.pgn"),
+                                                                           (headers, moves, board) -> 1,
+                                                                           result -> { }));
+    }
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPgnImporter(0, true, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPgnImporter(1, true, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPgnImporter(1, true, 1, 0));
+        new ParallelPgnImporter();
+    }
+
+    @Test
+    void testFindGameStart() throws IOException {
+        StringBuilder pgn = new StringBuilder();
+        while (pgn.length() < (1 << 16) - 3) {
+            pgn.append("1. e4 e5 {[Event not at line start} ");
+        }
+        pgn.setLength((1 << 16) - 3);
+        pgn.append("\n[Event \"x\"]\n1. e4 *\n");
+        Path path = tempDir.resolve("games.pgn");
+        write(path, pgn.toString());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            long size = channel.size();
+
+            assertEquals((1 << 16) - 2, ParallelPgnImporter.findGameStart(channel, 1, size, buffer));
+            assertEquals((1 << 16) - 2, ParallelPgnImporter.findGameStart(channel, (1 << 16) - 2, size, buffer));
+            assertEquals(size, ParallelPgnImporter.findGameStart(channel, (1 << 16) - 1, size, buffer));
+            assertEquals(size, ParallelPgnImporter.findGameStart(channel, size, size, buffer));
+        }
+    }
+
+    private Path writeGames(int count) throws IOException {
+        StringBuilder pgn = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            pgn.append("[Event \"").append(i).append("\"]\n[Result \"*\"]\n\n");
+            pgn.append(OPENINGS[i % OPENINGS.length]).append(" *\n\n");
+        }
+        Path path = tempDir.resolve("games.pgn");
+        write(path, pgn.toString());
+        assertTrue(Files.size(path) > 300 * 10);
+        return path;
+    }
+
+    private static List<String> expectedResults(int count) throws IOException {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Board board = new Board();
+            int moves = 0;
+            String line = OPENINGS[i % OPENINGS.length].replaceAll("\\{[^}]*}|\\([^)]*\\)|\\d+\\.", " ");
+            for (String san : line.trim().split("\\s+")) {
+                board.pushSan(san);
+                moves++;
+            }
+            expected.add(i + " " + moves + " " + board.getFen());
+        }
+        return expected;
+    }
+
+    private static void write(Path path, String pgn) throws IOException {
+        Files.write(path, pgn.getBytes(StandardCharsets.UTF_8));
+    }
+}
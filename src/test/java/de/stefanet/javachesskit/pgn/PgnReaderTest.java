@@ -0,0 +1,229 @@
+package de.stefanet.javachesskit.pgn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.stefanet.javachesskit.Board;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PgnReaderTest {
+    private static final String GAME = "[Event \"F/S Return Match\"]\n" +
+                                       "[Site \"Belgrade, Serbia JUG\"]\n" +
+                                       "[Result \"1/2-1/2\"]\n" +
+                                       "\n" +
+                                       "1. e4 e5 2. Nf3 Nc6 3. Bb5 {This opening is called the Ruy Lopez.} 3... a6\n" +
+                                       "4. Ba4 Nf6 5. O-O Be7 1/2-1/2\n";
+
+    @Test
+    void testReadGame() throws IOException {
+        List<String> events = read(GAME);
+
+        assertEquals("begin, header Event=F/S Return Match, header Site=Belgrade, Serbia JUG, " +
+                     "header Result=1/2-1/2, endHeaders, e4, e5, Nf3, Nc6, Bb5, " +
+                     "comment This opening is called the Ruy Lopez., a6, Ba4, Nf6, O-O, Be7, end 1/2-1/2",
+                     String.join(", ", events));
+    }
+
+    @Test
+    void testReadGame_variationsAndAnnotations() throws IOException {
+        String pgn = "1. e4 $1 e5!? (1... c5?! 2. Nf3 (2. c3 ; Alapin\n) d6) 2. Nf3!! Nc6 ?? $ 3. Bc4 !!! *";
+
+        List<String> events = read(pgn);
+
+        assertEquals("begin, endHeaders, e4, nag 1, e5, nag 5, (, c5, nag 6, Nf3, (, c3, comment Alapin, ), d6, ), " +
+                     "Nf3, nag 3, Nc6, nag 4, Bc4, end *",
+                     String.join(", ", events));
+    }
+
+    @Test
+    void testReadGame_multipleGames() throws IOException {
+        String pgn = "[White \"A\"]\n\n1. d4 d5 1-0\n\n" +
+                     "[White \"B\"]\n\n1.e4 0-1\n" +
+                     "[White \"C\"]\n\n1. c4\n" +
+                     "[White \"D\"]\n" +
+                     "[White \"E\"]\n\n1. f4 (1. g4\n";
+        PgnReader reader = new PgnReader(stream(pgn));
+
+        List<String> events = new ArrayList<>();
+        int games = 0;
+        while (reader.readGame(new RecordingVisitor(events))) {
+            games++;
+        }
+        assertFalse(reader.readGame(new RecordingVisitor(events)));
+        reader.close();
+
+        assertEquals(4, games);
+        assertEquals("begin, header White=A, endHeaders, d4, d5, end 1-0, " +
+                     "begin, header White=B, endHeaders, e4, end 0-1, " +
+                     "begin, header White=C, endHeaders, c4, end null, " +
+                     "begin, header White=D, header White=E, endHeaders, f4, (, g4, ), end null",
+                     String.join(", ", events));
+    }
+
+    @Test
+    void testReadGame_headersOnly() throws IOException {
+        assertEquals("begin, header Event=?, endHeaders, end null", String.join(", ", read("[Event \"?\"]")));
+    }
+
+    @Test
+    void testReadGame_escapesAndMalformedHeaders() throws IOException {
+        String pgn = "\uFEFF[White \"Say \\\"hi\\\" \\\\o/\"]\n" +
+                     "% escaped line [Event \"x\"]\n" +
+                     "[  Black   \"Müller\"  ]\n" +
+                     "[Round 1]\n" +
+                     "[Site \"unterminated\n" +
+                     "[Date]\n" +
+                     "1. e4 %\n" +
+                     "%1. d4\n" +
+                     "1... e5 {unterminated";
+
+        List<String> events = read(pgn);
+
+        assertEquals("begin, header White=Say \"hi\" \\o/, header Black=Müller, header Round=, " +
+                     "header Site=unterminated, header Date=, endHeaders, e4, e5, " +
+                     "comment unterminated, end null",
+                     String.join(", ", events));
+    }
+
+    @Test
+    void testReadGame_resultsInVariationsAreIgnored() throws IOException {
+        String pgn = "1. e4 (1. d4 1-0) ) e5 (1... c5 *) 0-1";
+
+        assertEquals("begin, endHeaders, e4, (, d4, ), e5, (, c5, ), end 0-1", String.join(", ", read(pgn)));
+    }
+
+    @Test
+    void testReadGame_empty() throws IOException {
+        PgnReader reader = new PgnReader(stream(" \n\n% comment\n\t"));
+
+        assertFalse(reader.readGame(new RecordingVisitor(new ArrayList<>())));
+    }
+
+    @Test
+    void testReadGame_largeInputFromChannel() throws IOException {
+        StringBuilder pgn = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            pgn.append("[Event \"Game ").append(i).append("\"]\n\n");
+            pgn.append("1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 4. Ba4 Nf6 5. O-O Be7 6. Re1 b5 7. Bb3 d6 ");
+            pgn.append("8. c3 O-O 9. h3 Nb8 10. d4 Nbd7 1/2-1/2\n\n");
+        }
+
+        ReplayVisitor visitor = new ReplayVisitor();
+        int games = 0;
+        try (PgnReader reader = new PgnReader(Channels.newChannel(stream(pgn.toString())))) {
+            while (reader.readGame(visitor)) {
+                assertEquals("Game " + games, visitor.event);
+                assertEquals("r1bq1rk1/2pnbppp/p2p1n2/1p2p3/3PP3/1BP2N1P/PP3PP1/RNBQR1K1 w - - 1 11",
+                             visitor.board.getFen());
+                games++;
+            }
+        }
+
+        assertEquals(2000, games);
+        assertTrue(pgn.length() > 1 << 16);
+    }
+
+    @Test
+    void testDefaultVisitor() throws IOException {
+        PgnReader reader = new PgnReader(stream(GAME + "1. e4 $1 (1. d4) *"));
+
+        assertTrue(reader.readGame(new PgnVisitor() { }));
+        assertTrue(reader.readGame(new PgnVisitor() { }));
+        assertFalse(reader.readGame(new PgnVisitor() { }));
+    }
+
+    private static List<String> read(String pgn) throws IOException {
+        List<String> events = new ArrayList<>();
+        try (PgnReader reader = new PgnReader(stream(pgn))) {
+            assertTrue(reader.readGame(new RecordingVisitor(events)));
+            assertFalse(reader.readGame(new RecordingVisitor(events)));
+        }
+        return events;
+    }
+
+    private static ByteArrayInputStream stream(String pgn) {
+        return new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RecordingVisitor implements PgnVisitor {
+        private final List<String> events;
+
+        RecordingVisitor(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void beginGame() {
+            events.add("begin");
+        }
+
+        @Override
+        public void header(String name, String value) {
+            events.add("header " + name + "=" + value);
+        }
+
+        @Override
+        public void endHeaders() {
+            events.add("endHeaders");
+        }
+
+        @Override
+        public void move(String san) {
+            events.add(san);
+        }
+
+        @Override
+        public void comment(String comment) {
+            events.add("comment " + comment);
+        }
+
+        @Override
+        public void nag(int nag) {
+            events.add("nag " + nag);
+        }
+
+        @Override
+        public void beginVariation() {
+            events.add("(");
+        }
+
+        @Override
+        public void endVariation() {
+            events.add(")");
+        }
+
+        @Override
+        public void endGame(String result) {
+            events.add("end " + result);
+        }
+    }
+
+    private static final class ReplayVisitor implements PgnVisitor {
+        private Board board;
+        private String event;
+
+        @Override
+        public void beginGame() {
+            board = new Board();
+        }
+
+        @Override
+        public void header(String name, String value) {
+            if (name.equals("Event")) {
+                event = value;
+            }
+        }
+
+        @Override
+        public void move(String san) {
+            board.pushSan(san);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package de.stefanet.javachesskit.polyglot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CachedPolyglotBookTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFindAll_countsHitsAndMisses() throws IOException {
+        PolyglotBook book = writeBook(positions(1));
+        CachedPolyglotBook cache = new CachedPolyglotBook(book, 16);
+        Board board = new Board();
+
+        List<PolyglotEntry> first = cache.findAll(board);
+        List<PolyglotEntry> second = cache.findAll(board);
+
+        assertSame(first, second);
+        assertEquals(book.findAll(board).toString(), first.toString());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+        assertSame(book, cache.getBook());
+        assertThrows(UnsupportedOperationException.class, () -> first.clear());
+    }
+
+    @Test
+    void testFindAll_cachesPositionsNotInBook() throws IOException {
+        CachedPolyglotBook cache = new CachedPolyglotBook(writeBook(positions(1)), 16);
+        Board board = new Board("8/8/8/8/8/8/8/K6k w - - 0 1");
+
+        assertTrue(cache.findAll(board).isEmpty());
+        assertNull(cache.find(board));
+        assertNull(cache.weightedChoice(board, new Random(1)));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testFind_sameAsBook() throws IOException {
+        List<Board> positions = positions(20);
+        PolyglotBook book = writeBook(positions);
+        CachedPolyglotBook cache = new CachedPolyglotBook(book, 7);
+
+        for (int i = 0; i < 3; i++) {
+            for (Board board : positions) {
+                assertEquals(book.find(board).getMove(), cache.find(board).getMove());
+                assertEquals(book.findAll(board).size(), cache.findAll(board).size());
+                Move move = cache.weightedChoice(board, new Random(i)).getMove();
+                assertEquals(book.weightedChoice(board, new Random(i)).getMove(), move);
+            }
+        }
+        assertEquals(7, cache.size());
+    }
+
+    @Test
+    void testEviction_keepsReferencedPositions() throws IOException {
+        List<Board> positions = positions(200);
+        CachedPolyglotBook cache = new CachedPolyglotBook(writeBook(positions), 32);
+        Board hot = positions.get(0);
+
+        for (Board board : positions) {
+            cache.findAll(hot);
+            cache.findAll(board);
+        }
+
+        assertEquals(32, cache.size());
+        assertEquals(positions.size(), cache.getMisses());
+        assertEquals(positions.size(), cache.getHits());
+    }
+
+    @Test
+    void testEviction_randomAccess() throws IOException {
+        List<Board> positions = positions(100);
+        PolyglotBook book = writeBook(positions);
+        CachedPolyglotBook cache = new CachedPolyglotBook(book, 10);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5000; i++) {
+            Board board = positions.get(random.nextInt(positions.size()));
+            assertEquals(book.find(board).getMove(), cache.find(board).getMove());
+        }
+
+        assertEquals(10, cache.size());
+        assertEquals(5000, cache.getHits() + cache.getMisses());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(book.find(positions.get(0)).getMove(), cache.find(positions.get(0)).getMove());
+    }
+
+    @Test
+    void testFindAll_concurrent() throws Exception {
+        List<Board> positions = positions(64);
+        PolyglotBook book = writeBook(positions);
+        CachedPolyglotBook cache = new CachedPolyglotBook(book, 24);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    boolean correct = true;
+                    for (int i = 0; i < 2000; i++) {
+                        Board board = positions.get(ThreadLocalRandom.current().nextInt(positions.size()));
+                        correct &= book.find(board).getMove().equals(cache.find(board).getMove());
+                    }
+                    return correct;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(8000, cache.getHits() + cache.getMisses());
+        assertTrue(cache.size() <= 24);
+    }
+
+    @Test
+    void testInvalidCapacity() throws IOException {
+        PolyglotBook book = writeBook(positions(1));
+
+        assertThrows(IllegalArgumentException.class, () -> new CachedPolyglotBook(book, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CachedPolyglotBook(book, (1 << 28) + 1));
+    }
+
+    /**
+     * Creates distinct positions by random walks from the start position, each with at least one legal move.
+     */
+    private static List<Board> positions(int count) {
+        List<Board> positions = new ArrayList<>();
+        Set<Long> keys = new HashSet<>();
+        Random random = new Random(count);
+        Board board = new Board();
+
+        while (positions.size() < count) {
+            List<Move> moves = new ArrayList<>();
+            board.legalMoves().forEach(moves::add);
+            if (moves.isEmpty() || board.ply() > 60) {
+                board = new Board();
+                continue;
+            }
+            if (keys.add(board.getZobristKey())) {
+                positions.add(board.copy());
+            }
+            board.push(moves.get(random.nextInt(moves.size())));
+        }
+        return positions;
+    }
+
+    /**
+     * Writes a book with all legal moves of the positions, the weights are the index of the move plus one.
+     */
+    private PolyglotBook writeBook(List<Board> positions) throws IOException {
+        Path path = tempDir.resolve("book.bin");
+        try (PolyglotBookWriter writer = new PolyglotBookWriter(path)) {
+            for (Board board : positions) {
+                int weight = 1;
+                for (Move move : board.legalMoves()) {
+                    writer.add(board, move, weight++);
+                }
+            }
+        }
+        return new PolyglotBook(path);
+    }
+}
@@ -0,0 +1,175 @@
+package de.stefanet.javachesskit.polyglot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PolyglotBookTest {
+    private static final String CASTLING_FEN = "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1";
+    private static final String PROMOTION_FEN = "8/P6k/8/8/8/8/8/K7 w - - 0 1";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFindAll_startPosition() throws IOException {
+        long key = new Board().getZobristKey();
+        PolyglotBook book = writeBook(
+                entry(key - 1, "a2a3", 1),
+                entry(key, "e2e4", 10),
+                entry(key, "d2d4", 5),
+                entry(key + 1, "b2b3", 1));
+
+        List<PolyglotEntry> entries = book.findAll(new Board());
+
+        assertEquals(4, book.size());
+        assertEquals(2, entries.size());
+        assertEquals(Move.fromUci("e2e4"), entries.get(0).getMove());
+        assertEquals(Move.fromUci("d2d4"), entries.get(1).getMove());
+        assertEquals(key, entries.get(1).getKey());
+        assertEquals(5, entries.get(1).getWeight());
+        assertEquals(Move.fromUci("e2e4"), book.find(new Board()).getMove());
+    }
+
+    @Test
+    void testFindAll_unsignedKeyOrder() throws IOException {
+        Board board = new Board("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+        long key = board.getZobristKey();
+        PolyglotBook book = writeBook(
+                entry(0x1000L, "a2a3", 1),
+                entry(key, "e7e5", 3),
+                entry(0xFFFFFFFFFFFFFFF0L, "a2a3", 1));
+
+        assertTrue(key < 0);
+        assertEquals(Move.fromUci("e7e5"), book.find(board).getMove());
+        assertTrue(book.findAll(new Board()).isEmpty());
+        assertNull(book.find(new Board()));
+    }
+
+    @Test
+    void testFindAll_decodesCastlingAndPromotion() throws IOException {
+        Board castling = new Board(CASTLING_FEN);
+        Board promotion = new Board(PROMOTION_FEN);
+        PolyglotBook book = writeBook(
+                entry(castling.getZobristKey(), "e1h1", 1),
+                entry(castling.getZobristKey(), "e1a1", 1),
+                entry(castling.getZobristKey(), "a1a8", 1),
+                entry(castling.getZobristKey(), "e1e3", 1),
+                entry(promotion.getZobristKey(), "a7a8q", 1));
+
+        List<PolyglotEntry> entries = book.findAll(castling);
+
+        assertEquals(3, entries.size());
+        assertEquals(Move.fromUci("e1g1"), entries.get(0).getMove());
+        assertEquals(rawMove("e1h1"), entries.get(0).getRawMove());
+        assertEquals(Move.fromUci("e1c1"), entries.get(1).getMove());
+        assertEquals(Move.fromUci("a1a8"), entries.get(2).getMove());
+        assertEquals(Move.fromUci("a7a8q"), book.find(promotion).getMove());
+    }
+
+    @Test
+    void testFindAll_skipsUndecodableMoves() throws IOException {
+        Board promotion = new Board(PROMOTION_FEN);
+        long key = promotion.getZobristKey();
+        int a7a8 = rawMove("a7a8");
+        PolyglotBook book = writeBook(
+                new long[]{key, 5 << 12 | a7a8, 9},
+                new long[]{key, 7 << 12 | a7a8, 9},
+                new long[]{key, 4 << 12 | rawMove("a1a2"), 9},
+                entry(key, "a7a8r", 1));
+
+        List<PolyglotEntry> entries = book.findAll(promotion);
+
+        assertEquals(1, entries.size());
+        assertEquals(Move.fromUci("a7a8r"), entries.get(0).getMove());
+        assertEquals(Move.fromUci("a7a8r"), book.find(promotion).getMove());
+        assertNull(PolyglotBook.decodeMove(6 << 12 | a7a8, promotion));
+    }
+
+    @Test
+    void testWeightedChoice() throws IOException {
+        long key = new Board().getZobristKey();
+        PolyglotBook book = writeBook(
+                entry(key, "e2e4", 3),
+                entry(key, "d2d4", 1),
+                entry(key, "g1f3", 0));
+
+        int[] counts = new int[3];
+        Random random = new Random(42);
+        for (int i = 0; i < 4000; i++) {
+            Move move = book.weightedChoice(new Board(), random).getMove();
+            counts[Arrays.asList("e2e4", "d2d4", "g1f3").indexOf(move.getUciMove())]++;
+        }
+
+        assertTrue(counts[0] > 2 * counts[1]);
+        assertTrue(counts[1] > 0);
+        assertEquals(0, counts[2]);
+        assertNull(book.weightedChoice(new Board(PROMOTION_FEN), random));
+    }
+
+    @Test
+    void testEntry_learnAndToString() throws IOException {
+        long key = new Board().getZobristKey();
+        PolyglotBook book = writeBook(entry(key, "e2e4", 7));
+
+        PolyglotEntry entry = book.find(new Board());
+
+        assertEquals(-2, entry.getLearn());
+        assertEquals("PolyglotEntry(key=463b96181691fc9c, move=e2e4, weight=7, learn=-2)", entry.toString());
+    }
+
+    @Test
+    void testOpen_invalidSize() throws IOException {
+        Path path = tempDir.resolve("invalid.bin");
+        Files.write(path, new byte[17]);
+
+        assertThrows(IOException.class, () -> new PolyglotBook(path));
+    }
+
+    @Test
+    void testOpen_empty() throws IOException {
+        PolyglotBook book = writeBook();
+
+        assertEquals(0, book.size());
+        assertTrue(book.findAll(new Board()).isEmpty());
+    }
+
+    private PolyglotBook writeBook(long[]... entries) throws IOException {
+        Arrays.sort(entries, (a, b) -> Long.compareUnsigned(a[0], b[0]));
+        Path path = tempDir.resolve("book.bin");
+        try (OutputStream stream = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(stream)) {
+            for (long[] entry : entries) {
+                out.writeLong(entry[0]);
+                out.writeShort((int) entry[1]);
+                out.writeShort((int) entry[2]);
+                out.writeInt(-2);
+            }
+        }
+        return new PolyglotBook(path);
+    }
+
+    private static long[] entry(long key, String uci, int weight) {
+        return new long[]{key, rawMove(uci), weight};
+    }
+
+    private static int rawMove(String uci) {
+        Move move = Move.fromUci(uci);
+        int promotion = move.getPromotion() == null ? 0 : "nbrq".indexOf(move.getPromotion().getSymbol()) + 1;
+        return promotion << 12 | move.getSource().ordinal() << 6 | move.getTarget().ordinal();
+    }
+}
@@ -0,0 +1,183 @@
+package de.stefanet.javachesskit.polyglot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.stefanet.javachesskit.Board;
+import de.stefanet.javachesskit.move.Move;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PolyglotBookWriterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWrite_inMemory() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+        Board board = new Board();
+
+        try (PolyglotBookWriter writer = new PolyglotBookWriter(path)) {
+            writer.add(board, Move.fromUci("d2d4"), 5);
+            writer.add(board, Move.fromUci("e2e4"), 10);
+            writer.add(board, Move.fromUci("d2d4"), 7);
+            writer.add(0x1000L, 0x0123, 1, 42);
+            assertEquals(0, writer.runCount());
+        }
+
+        PolyglotBook book = new PolyglotBook(path);
+        List<PolyglotEntry> entries = book.findAll(board);
+
+        assertEquals(3, book.size());
+        assertEquals(2, entries.size());
+        assertEquals(Move.fromUci("d2d4"), entries.get(0).getMove());
+        assertEquals(12, entries.get(0).getWeight());
+        assertEquals(Move.fromUci("e2e4"), entries.get(1).getMove());
+        assertEquals(10, entries.get(1).getWeight());
+    }
+
+    @Test
+    void testWrite_mergesRuns() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+        Random random = new Random(42);
+        long[] keys = new long[50];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+
+        long[][] expectedWeights = new long[keys.length][8];
+        PolyglotBookWriter writer = new PolyglotBookWriter(path, 16, tempDir);
+        for (int i = 0; i < 2000; i++) {
+            int key = random.nextInt(keys.length);
+            int move = random.nextInt(8);
+            int weight = random.nextInt(100);
+            writer.add(keys[key], move, weight, i);
+            expectedWeights[key][move] += weight;
+        }
+        assertTrue(writer.runCount() > 1);
+        writer.close();
+        writer.close();
+
+        List<long[]> entries = readEntries(path);
+        for (int i = 1; i < entries.size(); i++) {
+            long[] previous = entries.get(i - 1);
+            long[] entry = entries.get(i);
+            int order = Long.compareUnsigned(previous[0], entry[0]);
+            assertTrue(order < 0 || order == 0 && previous[2] >= entry[2]);
+        }
+
+        for (long[] entry : entries) {
+            int key = indexOf(keys, entry[0]);
+            assertEquals(Math.min(expectedWeights[key][(int) entry[1]], 0xFFFF), entry[2]);
+            expectedWeights[key][(int) entry[1]] = -1;
+        }
+        for (long[] weights : expectedWeights) {
+            for (long weight : weights) {
+                assertTrue(weight == -1 || weight == 0);
+            }
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.filter(file -> file.toString().endsWith(".run")).count());
+        }
+    }
+
+    @Test
+    void testWrite_saturatesWeightAndKeepsFirstLearn() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+
+        try (PolyglotBookWriter writer = new PolyglotBookWriter(path, 2, tempDir)) {
+            writer.add(7L, 0x0123, 40000, 3);
+            writer.add(8L, 0x0123, 1, 0);
+            writer.add(8L, 0x0124, 1, 0);
+            writer.add(7L, 0x0123, 40000, 4);
+            writer.add(7L, 0x0123, 40000, 5);
+            assertTrue(writer.runCount() > 0);
+        }
+
+        List<long[]> entries = readEntries(path);
+
+        assertEquals(3, entries.size());
+        assertEquals(7L, entries.get(0)[0]);
+        assertEquals(0xFFFF, entries.get(0)[2]);
+        assertEquals(3, entries.get(0)[3]);
+    }
+
+    @Test
+    void testWrite_castlingAndPromotion() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+        Board castling = new Board("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        Board promotion = new Board("8/P6k/8/8/8/8/8/K7 w - - 0 1");
+
+        try (PolyglotBookWriter writer = new PolyglotBookWriter(path, 1, tempDir)) {
+            writer.add(castling, Move.fromUci("e1g1"), 3);
+            writer.add(castling, Move.fromUci("e1c1"), 2);
+            writer.add(castling, Move.fromUci("e1f1"), 1);
+            writer.add(promotion, Move.fromUci("a7a8n"), 1);
+        }
+
+        PolyglotBook book = new PolyglotBook(path);
+        List<PolyglotEntry> entries = book.findAll(castling);
+
+        assertEquals(3, entries.size());
+        assertEquals(Move.fromUci("e1g1"), entries.get(0).getMove());
+        assertEquals(0x0107, entries.get(0).getRawMove());
+        assertEquals(Move.fromUci("e1c1"), entries.get(1).getMove());
+        assertEquals(0x0100, entries.get(1).getRawMove());
+        assertEquals(Move.fromUci("e1f1"), entries.get(2).getMove());
+        assertEquals(Move.fromUci("a7a8n"), book.find(promotion).getMove());
+        assertEquals(0x1C38, book.find(promotion).getRawMove());
+    }
+
+    @Test
+    void testWrite_empty() throws IOException {
+        Path path = tempDir.resolve("book.bin");
+
+        new PolyglotBookWriter(path).close();
+
+        assertEquals(0, Files.size(path));
+    }
+
+    @Test
+    void testAdd_invalid() throws IOException {
+        PolyglotBookWriter writer = new PolyglotBookWriter(tempDir.resolve("book.bin"));
+
+        assertThrows(IllegalArgumentException.class, () -> writer.add(1L, 0x8000, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> writer.add(1L, -1, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> writer.add(1L, 0, 0x10000, 0));
+        assertThrows(IllegalArgumentException.class, () -> writer.add(1L, 0, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PolyglotBookWriter(tempDir, 0, null));
+
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> writer.add(1L, 0, 1, 0));
+    }
+
+    private static List<long[]> readEntries(Path path) throws IOException {
+        List<long[]> entries = new ArrayList<>();
+        try (InputStream stream = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(stream)) {
+            while (in.available() > 0) {
+                entries.add(new long[]{in.readLong(), in.readUnsignedShort(), in.readUnsignedShort(), in.readInt()});
+            }
+        }
+        return entries;
+    }
+
+    private static int indexOf(long[] keys, long key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        throw new AssertionError("Unknown key: " + key);
+    }
+}